@@ -0,0 +1,591 @@
+package com.cracker.code.cson.processor;
+
+import com.cracker.code.cson.annotations.CsonSerializable;
+import com.cracker.code.cson.annotations.SerializedName;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ *
+ * CsonProcessor：为{@link CsonSerializable}标注的类生成TypeAdapter
+ *
+ * 对类Foo生成Foo_CsonTypeAdapter，直接访问属性(或getter、setter)、直接调用无参构造器，
+ * 内部类Factory注册到META-INF/services/com.cracker.code.cson.TypeAdapterFactory，由Cson通过ServiceLoader加载。
+ * 运行时不再需要getBoundFields、CsonTypes.resolve和ConstructorConstructor的反射。
+ *
+ * 输出与反射绑定一致：静态属性同样写出，属性值经TypeAdapterRuntimeTypeWrapper按实际类型写出。
+ * 生成的属性名是SerializedName或属性本身的名字，Cson配置了其他FieldNamingStrategy时Factory不生效，交给反射处理。
+ * 只需要放在使用方的注解处理器路径上，不随cson的jar发布
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+public final class CsonProcessor extends AbstractProcessor {
+
+    private static final String SERVICE_FILE = "META-INF/services/com.cracker.code.cson.TypeAdapterFactory";
+    private static final String SUFFIX = "_CsonTypeAdapter";
+
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+
+    /**
+     * 本次编译生成的Factory的类名
+     */
+    private final Set<String> factories = new LinkedHashSet<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(CsonSerializable.class.getCanonicalName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(CsonSerializable.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@CsonSerializable只能用于类");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            try {
+                String factory = this.generate(type);
+                if (factory != null) {
+                    this.factories.add(factory);
+                }
+            } catch (IOException e) {
+                error(type, "生成TypeAdapter失败：" + e);
+            }
+        }
+        if (roundEnv.processingOver() && !this.factories.isEmpty()) {
+            this.writeServiceFile();
+        }
+        return false;
+    }
+
+    /**
+     * 一个需要序列化的属性
+     */
+    private static final class Property {
+        String name;
+        TypeMirror type;
+        /**
+         * 属性名来自SerializedName，不受FieldNamingStrategy影响
+         */
+        boolean serializedName;
+        /**
+         * 读取属性值的表达式，对象为value
+         */
+        String getter;
+        /**
+         * 设置属性值的语句，对象为instance，值为%s；为null时反序列化跳过该属性
+         */
+        String setter;
+    }
+
+    /**
+     * @return 生成的Factory的类名，类不满足要求时返回null
+     */
+    private String generate(TypeElement type) throws IOException {
+        if (!this.checkType(type)) {
+            return null;
+        }
+        String packageName = this.elements.getPackageOf(type).getQualifiedName().toString();
+        String typeName = type.getQualifiedName().toString();
+        String adapterName = (packageName.isEmpty() ? typeName : typeName.substring(packageName.length() + 1))
+                .replace('.', '_') + SUFFIX;
+
+        List<Property> properties = this.properties(type, packageName);
+        if (properties == null) {
+            return null;
+        }
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n * 由CsonProcessor为").append(typeName).append("生成，不要修改\n */\n");
+        source.append("public final class ").append(adapterName)
+                .append(" extends com.cracker.code.cson.TypeAdapter<").append(typeName).append("> {\n\n");
+
+        // 属性名
+        source.append("    private static final com.cracker.code.cson.stream.JsonNameSet NAMES"
+                + " = new com.cracker.code.cson.stream.JsonNameSet(");
+        for (int i = 0; i < properties.size(); i++) {
+            source.append(i == 0 ? "" : ", ").append(literal(properties.get(i).name));
+        }
+        source.append(");\n");
+        for (int i = 0; i < properties.size(); i++) {
+            source.append("    private static final com.cracker.code.cson.stream.JsonEncodedName NAME_").append(i)
+                    .append(" = new com.cracker.code.cson.stream.JsonEncodedName(")
+                    .append(literal(properties.get(i).name)).append(");\n");
+        }
+        source.append('\n');
+
+        // 属性的TypeAdapter，引用类型的属性另有按实际类型写出的writeAdapter
+        for (int i = 0; i < properties.size(); i++) {
+            String boxed = this.boxed(properties.get(i).type);
+            source.append("    private final com.cracker.code.cson.TypeAdapter<")
+                    .append(boxed).append("> adapter").append(i).append(";\n");
+            if (!properties.get(i).type.getKind().isPrimitive()) {
+                source.append("    private final com.cracker.code.cson.TypeAdapter<")
+                        .append(boxed).append("> writeAdapter").append(i).append(";\n");
+            }
+        }
+        source.append('\n');
+        source.append("    ").append(adapterName).append("(com.cracker.code.cson.Cson cson) {\n");
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            if (property.type.getKind().isPrimitive()) {
+                source.append("        this.adapter").append(i).append(" = cson.getAdapter(")
+                        .append(this.typeToken(property.type)).append(");\n");
+            } else {
+                source.append("        com.cracker.code.cson.reflect.TypeToken<").append(property.type)
+                        .append("> type").append(i).append(" = ").append(this.typeTokenInstance(property.type))
+                        .append(";\n");
+                source.append("        this.adapter").append(i).append(" = cson.getAdapter(type").append(i).append(");\n");
+                source.append("        this.writeAdapter").append(i)
+                        .append(" = com.cracker.code.cson.internal.bind.TypeAdapterRuntimeTypeWrapper.create(cson, this.adapter")
+                        .append(i).append(", type").append(i).append(".getType());\n");
+            }
+        }
+        source.append("    }\n\n");
+
+        // write
+        source.append("    @Override\n");
+        source.append("    public void write(com.cracker.code.cson.stream.JsonWriter out, ").append(typeName)
+                .append(" value) throws java.io.IOException {\n");
+        source.append("        if (value == null) {\n");
+        source.append("            out.nullValue();\n");
+        source.append("            return;\n");
+        source.append("        }\n");
+        source.append("        out.beginObject();\n");
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            if (property.type.getKind().isPrimitive()) {
+                source.append("        out.name(NAME_").append(i).append(");\n");
+                source.append("        this.adapter").append(i).append(".write(out, ")
+                        .append(property.getter).append(");\n");
+            } else {
+                // 与反射一致，属性引用对象本身时不写出
+                source.append("        ").append(property.type).append(" field").append(i).append(" = ")
+                        .append(property.getter).append(";\n");
+                source.append("        if (field").append(i).append(" != (java.lang.Object) value) {\n");
+                source.append("            out.name(NAME_").append(i).append(");\n");
+                source.append("            this.writeAdapter").append(i).append(".write(out, field").append(i).append(");\n");
+                source.append("        }\n");
+            }
+        }
+        source.append("        out.endObject();\n");
+        source.append("    }\n\n");
+
+        // read
+        source.append("    @Override\n");
+        source.append("    public ").append(typeName)
+                .append(" read(com.cracker.code.cson.stream.JsonReader in) throws java.io.IOException {\n");
+        source.append("        if (in.peek() == com.cracker.code.cson.stream.JsonToken.NULL) {\n");
+        source.append("            in.nextNull();\n");
+        source.append("            return null;\n");
+        source.append("        }\n");
+        source.append("        ").append(typeName).append(" instance = new ").append(typeName).append("();\n");
+        source.append("        try {\n");
+        source.append("            in.beginObject();\n");
+        source.append("            while (in.hasNext()) {\n");
+        source.append("                switch (in.nextName(NAMES)) {\n");
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            if (property.setter == null) {
+                continue;
+            }
+            source.append("                    case ").append(i).append(": {\n");
+            if (property.type.getKind().isPrimitive()) {
+                // null不覆盖基本类型的属性
+                source.append("                        ").append(this.boxed(property.type)).append(" v = this.adapter")
+                        .append(i).append(".read(in);\n");
+                source.append("                        if (v != null) {\n");
+                source.append("                            ").append(String.format(property.setter, "v")).append(";\n");
+                source.append("                        }\n");
+            } else {
+                source.append("                        ")
+                        .append(String.format(property.setter, "this.adapter" + i + ".read(in)")).append(";\n");
+            }
+            source.append("                        break;\n");
+            source.append("                    }\n");
+        }
+        source.append("                    default:\n");
+        source.append("                        in.skipValue();\n");
+        source.append("                        break;\n");
+        source.append("                }\n");
+        source.append("            }\n");
+        source.append("        } catch (java.lang.IllegalStateException e) {\n");
+        source.append("            throw new com.cracker.code.cson.JsonSyntaxException(e);\n");
+        source.append("        }\n");
+        source.append("        in.endObject();\n");
+        source.append("        return instance;\n");
+        source.append("    }\n\n");
+
+        // factory
+        source.append("    public static final class Factory implements com.cracker.code.cson.TypeAdapterFactory {\n");
+        source.append("        @Override\n");
+        source.append("        @SuppressWarnings(\"unchecked\")\n");
+        source.append("        public <T> com.cracker.code.cson.TypeAdapter<T> create(com.cracker.code.cson.Cson cson,"
+                + " com.cracker.code.cson.reflect.TypeToken<T> type) {\n");
+        source.append("            if (type.getRawType() != ").append(typeName).append(".class");
+        for (Property property : properties) {
+            if (!property.serializedName) {
+                // 属性名按IDENTITY生成，其他规则下交给反射
+                source.append("\n                    || cson.fieldNamingStrategy()"
+                        + " != com.cracker.code.cson.FieldNamingPolicy.IDENTITY");
+                break;
+            }
+        }
+        source.append(") {\n");
+        source.append("                return null;\n");
+        source.append("            }\n");
+        source.append("            return (com.cracker.code.cson.TypeAdapter<T>) new ").append(adapterName)
+                .append("(cson);\n");
+        source.append("        }\n");
+        source.append("    }\n");
+        source.append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? adapterName : packageName + "." + adapterName;
+        JavaFileObject file = this.filer.createSourceFile(qualifiedName, type);
+        try (Writer writer = file.openWriter()) {
+            writer.write(source.toString());
+        }
+        return qualifiedName + "$Factory";
+    }
+
+    /**
+     * 类本身、外层类都要能从同一个包中访问，并且有可访问的无参构造器
+     */
+    private boolean checkType(TypeElement type) {
+        if (!type.getTypeParameters().isEmpty()) {
+            error(type, "@CsonSerializable不支持泛型类");
+            return false;
+        }
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            error(type, "@CsonSerializable不支持抽象类");
+            return false;
+        }
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            TypeElement t = (TypeElement) e;
+            if (t.getModifiers().contains(Modifier.PRIVATE)) {
+                error(type, "@CsonSerializable的类及其外层类不能是private的");
+                return false;
+            }
+            if (t.getNestingKind() == NestingKind.MEMBER && !t.getModifiers().contains(Modifier.STATIC)) {
+                error(type, "@CsonSerializable不支持非静态内部类");
+                return false;
+            }
+            if (t.getNestingKind() == NestingKind.LOCAL || t.getNestingKind() == NestingKind.ANONYMOUS) {
+                error(type, "@CsonSerializable不支持局部类和匿名类");
+                return false;
+            }
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        error(type, "@CsonSerializable的类需要一个非private的无参构造器");
+        return false;
+    }
+
+    /**
+     * 按反射的顺序收集属性：先子类后父类，每个类按声明顺序，包括静态属性。
+     * 静态属性通过类名访问，不能访问的常量直接写出常量值；final的属性反序列化时跳过
+     */
+    private List<Property> properties(TypeElement type, String packageName) {
+        DeclaredType declared = (DeclaredType) type.asType();
+        List<Property> result = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        boolean ok = true;
+        for (DeclaredType current = declared; current != null; current = this.superclass(current)) {
+            TypeElement t = (TypeElement) current.asElement();
+            // 父类的属性通过转换访问，避免被子类的同名属性遮蔽
+            String owner = t == type ? "value" : "((" + current + ") value)";
+            String target = t == type ? "instance" : "((" + current + ") instance)";
+            String className = t.getQualifiedName().toString();
+            for (VariableElement field : ElementFilter.fieldsIn(t.getEnclosedElements())) {
+                boolean isStatic = isStatic(field);
+                Property property = new Property();
+                SerializedName serializedName = field.getAnnotation(SerializedName.class);
+                property.name = serializedName == null ? field.getSimpleName().toString() : serializedName.value();
+                property.serializedName = serializedName != null;
+                property.type = this.types.asMemberOf(declared, field);
+                if (!names.add(property.name)) {
+                    error(field, type.getQualifiedName() + "中有多个名为" + property.name + "的属性");
+                    ok = false;
+                    continue;
+                }
+                if (containsTypeVariable(property.type)) {
+                    error(field, "无法确定属性" + field.getSimpleName() + "的类型");
+                    ok = false;
+                    continue;
+                }
+
+                String fieldName = field.getSimpleName().toString();
+                String fieldOwner = isStatic ? className : owner;
+                String fieldTarget = isStatic ? className : target;
+                boolean accessible = this.accessible(field, packageName);
+                if (accessible) {
+                    property.getter = fieldOwner + "." + fieldName;
+                } else {
+                    ExecutableElement getter = this.getter(t, field, declared, packageName);
+                    if (getter != null) {
+                        property.getter = fieldOwner + "." + getter.getSimpleName() + "()";
+                    } else if (isStatic && field.getConstantValue() != null) {
+                        property.getter = this.elements.getConstantExpression(field.getConstantValue());
+                    } else {
+                        error(field, "属性" + fieldName + "不能直接访问，也没有可访问的getter");
+                        ok = false;
+                        continue;
+                    }
+                }
+                if (accessible && !field.getModifiers().contains(Modifier.FINAL)) {
+                    property.setter = fieldTarget + "." + fieldName + " = %s";
+                } else {
+                    ExecutableElement setter = this.setter(t, field, declared, packageName);
+                    if (setter != null) {
+                        property.setter = fieldTarget + "." + setter.getSimpleName() + "(%s)";
+                    } else if (!field.getModifiers().contains(Modifier.FINAL)) {
+                        error(field, "属性" + fieldName + "不能直接访问，也没有可访问的setter");
+                        ok = false;
+                        continue;
+                    }
+                }
+                result.add(property);
+            }
+        }
+        return ok ? result : null;
+    }
+
+    /**
+     * @return 带有实际类型参数的父类，到Object为止
+     */
+    private DeclaredType superclass(DeclaredType type) {
+        List<? extends TypeMirror> supertypes = this.types.directSupertypes(type);
+        // 第一个是父类，其余是接口
+        if (supertypes.isEmpty() || supertypes.get(0).getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        DeclaredType superclass = (DeclaredType) supertypes.get(0);
+        TypeElement element = (TypeElement) superclass.asElement();
+        if (element.getKind() != ElementKind.CLASS || element.getQualifiedName().contentEquals("java.lang.Object")) {
+            return null;
+        }
+        return superclass;
+    }
+
+    private ExecutableElement getter(TypeElement owner, VariableElement field, DeclaredType declared,
+                                     String packageName) {
+        String suffix = capitalize(field.getSimpleName().toString());
+        TypeMirror fieldType = this.types.asMemberOf(declared, field);
+        for (ExecutableElement method : ElementFilter.methodsIn(owner.getEnclosedElements())) {
+            String name = method.getSimpleName().toString();
+            boolean named = name.equals("get" + suffix)
+                    || name.equals("is" + suffix) && fieldType.getKind() == TypeKind.BOOLEAN;
+            if (named && method.getParameters().isEmpty() && isStatic(method) == isStatic(field)
+                    && this.accessible(method, packageName)
+                    && this.types.isSameType(method.getReturnType(), field.asType())) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private ExecutableElement setter(TypeElement owner, VariableElement field, DeclaredType declared,
+                                     String packageName) {
+        String name = "set" + capitalize(field.getSimpleName().toString());
+        for (ExecutableElement method : ElementFilter.methodsIn(owner.getEnclosedElements())) {
+            if (method.getSimpleName().contentEquals(name) && method.getParameters().size() == 1
+                    && isStatic(method) == isStatic(field)
+                    && this.accessible(method, packageName)
+                    && this.types.isSameType(method.getParameters().get(0).asType(), field.asType())) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 生成的类与目标类在同一个包中：public的成员，或者同一个包中非private的成员可以访问
+     */
+    private boolean accessible(Element member, String packageName) {
+        Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PUBLIC)) {
+            return true;
+        }
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        PackageElement memberPackage = this.elements.getPackageOf(member);
+        return memberPackage.getQualifiedName().contentEquals(packageName);
+    }
+
+    private static boolean isStatic(Element element) {
+        return element.getModifiers().contains(Modifier.STATIC);
+    }
+
+    private static boolean containsTypeVariable(TypeMirror type) {
+        switch (type.getKind()) {
+            case TYPEVAR:
+                return true;
+            case ARRAY:
+                return containsTypeVariable(((ArrayType) type).getComponentType());
+            case WILDCARD:
+                WildcardType wildcard = (WildcardType) type;
+                return wildcard.getExtendsBound() != null && containsTypeVariable(wildcard.getExtendsBound())
+                        || wildcard.getSuperBound() != null && containsTypeVariable(wildcard.getSuperBound());
+            case DECLARED:
+                for (TypeMirror argument : ((DeclaredType) type).getTypeArguments()) {
+                    if (containsTypeVariable(argument)) {
+                        return true;
+                    }
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    private String boxed(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return this.types.boxedClass((javax.lang.model.type.PrimitiveType) type).getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+
+    /**
+     * 不含泛型参数的类型用Class，否则用TypeToken的匿名子类
+     */
+    private String typeToken(TypeMirror type) {
+        if (this.types.isSameType(type, this.types.erasure(type))) {
+            return type + ".class";
+        }
+        return "new com.cracker.code.cson.reflect.TypeToken<" + type + ">() {}";
+    }
+
+    /**
+     * 与{@link #typeToken(TypeMirror)}相同，但不含泛型参数的类型也创建TypeToken，用于取得声明类型
+     */
+    private String typeTokenInstance(TypeMirror type) {
+        if (this.types.isSameType(type, this.types.erasure(type))) {
+            return "com.cracker.code.cson.reflect.TypeToken.get(" + type + ".class)";
+        }
+        return this.typeToken(type);
+    }
+
+    private void writeServiceFile() {
+        Set<String> all = new LinkedHashSet<>();
+        // 增量编译时保留之前生成的条目
+        try {
+            FileObject existing = this.filer.getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("#")) {
+                        all.add(line);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException ignored) {
+        }
+        all.addAll(this.factories);
+        try {
+            FileObject file = this.filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String factory : all) {
+                    writer.write(factory);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            this.messager.printMessage(Diagnostic.Kind.ERROR, "写入" + SERVICE_FILE + "失败：" + e);
+        }
+    }
+
+    private void error(Element element, String message) {
+        this.messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * Java字符串字面量
+     */
+    private static String literal(String value) {
+        StringBuilder result = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                result.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7e) {
+                result.append(String.format("\\u%04x", (int) c));
+            } else {
+                result.append(c);
+            }
+        }
+        return result.append('"').toString();
+    }
+}
@@ -0,0 +1,764 @@
+package com.cracker.code.cson;
+
+
+import com.cracker.code.cson.internal.ConstructorConstructor;
+import com.cracker.code.cson.internal.CsonPreconditions;
+import com.cracker.code.cson.internal.MappedFileInputStream;
+import com.cracker.code.cson.internal.Primitives;
+import com.cracker.code.cson.internal.Streams;
+import com.cracker.code.cson.internal.NumberFormatter;
+import com.cracker.code.cson.internal.Utf8Writer;
+import com.cracker.code.cson.internal.bind.*;
+import com.cracker.code.cson.reflect.TypeToken;
+import com.cracker.code.cson.stream.JsonReader;
+import com.cracker.code.cson.stream.JsonToken;
+import com.cracker.code.cson.stream.JsonWriter;
+import com.cracker.code.cson.stream.MalformedJsonException;
+import com.cracker.code.cson.stream.Utf8JsonReader;
+
+import java.io.*;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ *
+ * Cson，一个对外使用的Json客户端
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2021-03-18
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+public class Cson {
+
+    /**
+     * 生成不可执行的json
+     */
+    static final boolean DEFAULT_JSON_NON_EXECUTABLE = false;
+
+    /**
+     * 绑定到Reader、CharSequence的字符串值在内存中最多保留的字符数
+     */
+    static final int DEFAULT_STRING_SPILL_THRESHOLD = 1 << 20;
+
+    private static final String JSON_NON_EXECUTABLE_PREFIX = ")]}'\n";
+
+    /**
+     * TypeAdapter缓存池，不使用static
+     * Map集合里面的key为Object时，一般需要重写hashCode()、equals()
+     * 读取不加锁，只有创建TypeAdapter时才加锁
+    */
+    private final Map<TypeToken<?>, TypeAdapter<?>> typeTokenCache
+            = new ConcurrentHashMap<>();
+
+    /**
+     * 普通Class的快速缓存：按Class直接取，不计算TypeToken的hashCode、equals。
+     * 值保存在Class上，只弱引用TypeAdapter：TypeAdapter可能引用本Cson，强引用会使本Cson和classCache永远不被回收，
+     * 强引用由typeTokenCache持有
+     */
+    private final ClassValue<AdapterHolder> classCache = new ClassValue<AdapterHolder>() {
+        @Override
+        protected AdapterHolder computeValue(Class<?> type) {
+            return new AdapterHolder();
+        }
+    };
+
+    /**
+     * 创建TypeAdapter时持有的锁：并发首次请求同一类型时只创建一次。
+     * 相互引用的类型会交叉请求对方的TypeAdapter，用一把可重入锁避免死锁，创建只发生在预热阶段
+     */
+    private final ReentrantLock creationLock = new ReentrantLock();
+
+    /**
+     * 正在创建的TypeAdapter，用于处理递归引用的类型，由creationLock保护
+     */
+    private final Map<TypeToken<?>, FutureTypeAdapter<?>> calls = new HashMap<>();
+
+    /**
+     * 本次创建过程中已经创建好的TypeAdapter，由creationLock保护。
+     * 它们可能引用还没有设置delegate的FutureTypeAdapter，最外层创建成功后才一起放入typeTokenCache
+     */
+    private final Map<TypeToken<?>, TypeAdapter<?>> created = new HashMap<>();
+
+    private final List<TypeAdapterFactory> factories;
+
+    private final ConstructorConstructor constructorConstructor;
+
+    private final FieldNamingStrategy fieldNamingStrategy;
+
+
+    private final boolean serializeNulls;
+    private final boolean htmlSafe;
+    private final boolean generateNonExecutableJson;
+    private final boolean prettyPrinting;
+    private final boolean shortestFloatingPoint;
+    private final boolean recordFieldOrderStats;
+    private final boolean structuralIndex;
+
+    public Cson() {
+        this(FieldNamingPolicy.IDENTITY, Collections.<Type, InstanceCreator<?>>emptyMap(),
+                false, false, DEFAULT_JSON_NON_EXECUTABLE, true,
+                false, false, false, DEFAULT_STRING_SPILL_THRESHOLD, false, false, false,
+                Collections.<TypeAdapterFactory>emptyList());
+    }
+
+
+    Cson (FieldNamingStrategy fieldNamingStrategy, Map<Type, InstanceCreator<?>> instanceCreators,
+          boolean serializeNulls, boolean complexMapKeySerialization, boolean generateNonExecutableJson, boolean htmlSafe,
+          boolean prettyPrinting, boolean generateAdapters, boolean binaryAsBase64, int stringSpillThreshold,
+          boolean shortestFloatingPoint, boolean recordFieldOrderStats, boolean structuralIndex,
+          List<TypeAdapterFactory> typeAdapterFactories) {
+        this.constructorConstructor = new ConstructorConstructor(instanceCreators);
+        this.fieldNamingStrategy = fieldNamingStrategy;
+        this.serializeNulls = serializeNulls;
+        this.generateNonExecutableJson = generateNonExecutableJson;
+        this.htmlSafe = htmlSafe;
+        this.prettyPrinting = prettyPrinting;
+        this.shortestFloatingPoint = shortestFloatingPoint || NumberFormatter.JDK_SHORTEST;
+        this.recordFieldOrderStats = recordFieldOrderStats;
+        this.structuralIndex = structuralIndex;
+
+        List<TypeAdapterFactory> factories = new ArrayList<>();
+
+        /* 如下为不能被重写的内置类型适配器  */
+        // 添加基于JSON_ELEMENT的TypeAdapterFactory
+        factories.add(TypeAdapters.JSON_ELEMENT_FACTORY);
+        // 添加基于Object的TypeAdapterFactory
+        factories.add(ObjectTypeAdapter.FACTORY);
+
+        /* 如下为用户自定义的类型适配器 */
+        factories.addAll(typeAdapterFactories);
+
+        /* 如下为编译时由CsonProcessor生成的类型适配器 */
+        factories.addAll(GeneratedFactories.FACTORIES);
+
+
+        /* 如下为用于基本平台类型的类型适配器 */
+        // 添加基于String的TypeAdapterFactory
+        factories.add(TypeAdapters.STRING_FACTORY);
+        // 添加基于Reader、CharSequence的TypeAdapterFactory，超长的字符串转存到临时文件
+        factories.add(new CharStreamTypeAdapterFactory(stringSpillThreshold));
+        // 添加基于基本类型及其包装类的TypeAdapterFactory
+        factories.add(TypeAdapters.INTEGER_FACTORY);
+        factories.add(TypeAdapters.BOOLEAN_FACTORY);
+        factories.add(TypeAdapters.BYTE_FACTORY);
+        factories.add(TypeAdapters.SHORT_FACTORY);
+        factories.add(TypeAdapters.LONG_FACTORY);
+        factories.add(TypeAdapters.FLOAT_FACTORY);
+        factories.add(TypeAdapters.DOUBLE_FACTORY);
+        factories.add(TypeAdapters.CHARACTER_FACTORY);
+        // 添加基于Number的TypeAdapterFactory
+        factories.add(TypeAdapters.NUMBER_FACTORY);
+        // 启用时byte[]和ByteBuffer写成Base64字符串，要排在ArrayTypeAdapter之前
+        if (binaryAsBase64) {
+            factories.add(TypeAdapters.BYTE_ARRAY_BASE64_FACTORY);
+            factories.add(TypeAdapters.BYTE_BUFFER_BASE64_FACTORY);
+        }
+        // 添加基于Array的TypeAdapterFactory
+        factories.add(ArrayTypeAdapter.FACTORY);
+
+
+        /* 如下为复合类型和用户定义类型的类型适配器 */
+        // 添加基于反射类型的ReflectiveTypeAdapterFactory
+        factories.add(new CollectionTypeAdapterFactory(constructorConstructor));
+        factories.add(new MapTypeAdapterFactory(constructorConstructor, complexMapKeySerialization));
+        factories.add(TypeAdapters.ENUM_FACTORY);
+        factories.add(new ReflectiveTypeAdapterFactory(constructorConstructor, fieldNamingStrategy, generateAdapters,
+                recordFieldOrderStats));
+
+
+        this.factories = Collections.unmodifiableList(factories);
+    }
+
+    /**
+     * 编译时由CsonProcessor生成的TypeAdapterFactory，第一次创建Cson时通过ServiceLoader加载一次，
+     * 之后所有的Cson共用，不再扫描classpath。生成的Factory没有状态，可以共用
+     */
+    private static final class GeneratedFactories {
+
+        static final List<TypeAdapterFactory> FACTORIES = Collections.unmodifiableList(load());
+
+        /**
+         * 已经删除的类留下的无效条目、无法读取的配置文件直接跳过
+         * @return List<TypeAdapterFactory>
+         */
+        private static List<TypeAdapterFactory> load() {
+            List<TypeAdapterFactory> result = new ArrayList<>();
+            Iterator<TypeAdapterFactory> iterator = ServiceLoader.load(TypeAdapterFactory.class).iterator();
+            try {
+                while (iterator.hasNext()) {
+                    try {
+                        result.add(iterator.next());
+                    } catch (ServiceConfigurationError ignored) {
+                    }
+                }
+            } catch (ServiceConfigurationError ignored) {
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 创建一个TypeAdapter的子类，FutureTypeAdapter
+     * @param <T>
+     */
+    static class FutureTypeAdapter<T> extends TypeAdapter<T> {
+
+        private TypeAdapter<T> delegate;
+
+        public void setDelegate(TypeAdapter<T> typeAdapter) {
+            if (delegate != null) {
+                throw new AssertionError();
+            }
+            delegate = typeAdapter;
+        }
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+            if (delegate == null) {
+                throw new AssertionError();
+            }
+            return delegate.read(in);
+        }
+
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+            CsonPreconditions.checkArgument(delegate != null);
+            delegate.write(out, value);
+        }
+
+        @Override
+        public T readInto(JsonReader in, T target) throws IOException {
+            if (delegate == null) {
+                throw new AssertionError();
+            }
+            return delegate.readInto(in, target);
+        }
+    }
+
+    /**
+     * classCache中的缓存项，adapter在创建完成后设置
+     */
+    private static final class AdapterHolder {
+        volatile WeakReference<TypeAdapter<?>> adapter;
+
+        TypeAdapter<?> get() {
+            WeakReference<TypeAdapter<?>> adapter = this.adapter;
+            return adapter == null ? null : adapter.get();
+        }
+    }
+
+    /**
+     * @return 属性名到json名称的转换规则
+     */
+    public FieldNamingStrategy fieldNamingStrategy() {
+        return this.fieldNamingStrategy;
+    }
+
+    /**
+     * 已经创建的、通过反射绑定的类型按顺序预测属性名的统计快照，
+     * 只在{@link CsonBuilder#recordFieldOrderStats()}开启时记录，否则返回空列表
+     * @return 每个类型一项
+     */
+    public List<FieldOrderStats> getFieldOrderStats() {
+        List<FieldOrderStats> result = new ArrayList<>();
+        if (!this.recordFieldOrderStats) {
+            return result;
+        }
+        for (Map.Entry<TypeToken<?>, TypeAdapter<?>> entry : this.typeTokenCache.entrySet()) {
+            if (entry.getValue() instanceof ReflectiveTypeAdapterFactory.Adapter) {
+                FieldOrderStats stats = ((ReflectiveTypeAdapterFactory.Adapter<?>) entry.getValue())
+                        .fieldOrderStats(entry.getKey().getType());
+                if (stats != null) {
+                    result.add(stats);
+                }
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> getAdapter(Class<T> type) {
+        AdapterHolder holder = this.classCache.get(type);
+        TypeAdapter<?> cached = holder.get();
+        if (cached != null) {
+            return (TypeAdapter<T>) cached;
+        }
+        return this.cacheClassAdapter(holder, this.lookupAdapter(TypeToken.get(type)));
+    }
+
+    /**
+     * 双缓存获取TypeAdapter
+     * @param type TypeToken
+     * @param <T> ParameterizedType
+     * @return TypeAdapter<T>
+     */
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> getAdapter(TypeToken<T> type) {
+        if (type.getType() instanceof Class) {
+            AdapterHolder holder = this.classCache.get((Class<?>) type.getType());
+            TypeAdapter<?> cached = holder.get();
+            if (cached != null) {
+                return (TypeAdapter<T>) cached;
+            }
+            return this.cacheClassAdapter(holder, this.lookupAdapter(type));
+        }
+        return this.lookupAdapter(type);
+    }
+
+    private <T> TypeAdapter<T> cacheClassAdapter(AdapterHolder holder, TypeAdapter<T> adapter) {
+        // 递归创建过程中的结果还没有放入typeTokenCache，不缓存
+        if (!this.creationLock.isHeldByCurrentThread()) {
+            holder.adapter = new WeakReference<TypeAdapter<?>>(adapter);
+        }
+        return adapter;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> TypeAdapter<T> lookupAdapter(TypeToken<T> type) {
+        TypeAdapter<?> cached = this.typeTokenCache.get(type);
+        if (cached != null) {
+            return (TypeAdapter<T>) cached;
+        }
+
+        this.creationLock.lock();
+        try {
+            // 等待锁期间可能已经由其他线程创建好
+            cached = this.typeTokenCache.get(type);
+            if (cached != null) {
+                return (TypeAdapter<T>) cached;
+            }
+
+            cached = this.created.get(type);
+            if (cached != null) {
+                return (TypeAdapter<T>) cached;
+            }
+            FutureTypeAdapter<T> ongoingCall = (FutureTypeAdapter<T>) this.calls.get(type);
+            if (ongoingCall != null) {
+                return ongoingCall;
+            }
+
+            FutureTypeAdapter<T> call = new FutureTypeAdapter<>();
+            this.calls.put(type, call);
+            boolean success = false;
+            try {
+                for (TypeAdapterFactory factory : factories) {
+                    TypeAdapter<T> candidate = factory.create(this, type);
+                    if (candidate != null) {
+                        call.setDelegate(candidate);
+                        this.created.put(type, candidate);
+                        success = true;
+                        return candidate;
+                    }
+                }
+                throw new IllegalArgumentException("CSON cannot handle " + type);
+            } finally {
+                this.calls.remove(type);
+                if (this.calls.isEmpty()) {
+                    // 最外层：成功时一起发布，失败时丢弃，其中可能有引用了失败类型的TypeAdapter
+                    if (success) {
+                        this.typeTokenCache.putAll(this.created);
+                    }
+                    this.created.clear();
+                }
+            }
+        } finally {
+            this.creationLock.unlock();
+        }
+    }
+
+
+    public JsonElement toJsonTree(Object src) {
+        if (src == null) {
+            return JsonNull.INSTANCE;
+        }
+        return toJsonTree(src, src.getClass());
+    }
+
+    public JsonElement toJsonTree(Object src, Type typeOfSrc) {
+        JsonTreeWriter writer = new JsonTreeWriter();
+        toJson(src, typeOfSrc, writer);
+        return writer.get();
+    }
+
+    public String toJson(Object src) {
+        if (src == null) {
+            return toJson(JsonNull.INSTANCE);
+        }
+        return toJson(src, src.getClass());
+    }
+
+    public String toJson(Object src, Type typeOfSrc) {
+        // JsonWriter自带缓冲，StringBuilder不加锁，比StringWriter(内部是StringBuffer)少一层同步
+        StringBuilder writer = new StringBuilder();
+        toJson(src, typeOfSrc, writer);
+        return writer.toString();
+    }
+
+    public String toJson(JsonElement jsonElement) {
+        StringBuilder writer = new StringBuilder();
+        toJson(jsonElement, writer);
+        return writer.toString();
+    }
+
+    /**
+     * 序列化为UTF-8字节，不经过String
+     * @param src Object
+     * @return UTF-8 bytes
+     */
+    public byte[] toJsonBytes(Object src) {
+        Utf8Writer writer = new Utf8Writer();
+        if (src == null) {
+            toJson(JsonNull.INSTANCE, writer);
+        } else {
+            toJson(src, src.getClass(), writer);
+        }
+        return writer.toByteArray();
+    }
+
+    public void toJson(Object src, OutputStream out) throws JsonIoException {
+        if (src == null) {
+            toJson(JsonNull.INSTANCE, JsonNull.class, out);
+        } else {
+            toJson(src, src.getClass(), out);
+        }
+    }
+
+    /**
+     * 以UTF-8编码直接写入OutputStream，写完后flush，但不关闭out
+     * @param src Object
+     * @param typeOfSrc Type
+     * @param out OutputStream
+     * @throws JsonIoException JsonIoException
+     */
+    public void toJson(Object src, Type typeOfSrc, OutputStream out) throws JsonIoException {
+        Utf8Writer writer = new Utf8Writer(out);
+        toJson(src, typeOfSrc, writer);
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new JsonIoException(e);
+        }
+    }
+
+    public void toJson(Object src, ByteBuffer out) throws JsonIoException {
+        if (src == null) {
+            toJson(JsonNull.INSTANCE, JsonNull.class, out);
+        } else {
+            toJson(src, src.getClass(), out);
+        }
+    }
+
+    /**
+     * 以UTF-8编码直接写入ByteBuffer，从out的position开始，写完后position位于末尾。
+     * 堆外的ByteBuffer也不经过中间的byte[]整体拷贝，只按8K分块写入
+     * @param src Object
+     * @param typeOfSrc Type
+     * @param out ByteBuffer
+     * @throws JsonIoException JsonIoException
+     * @throws BufferOverflowException out的剩余空间不足，此时out的position恢复为写入之前的值
+     */
+    public void toJson(Object src, Type typeOfSrc, ByteBuffer out) throws JsonIoException {
+        int start = out.position();
+        Utf8Writer writer = new Utf8Writer(out);
+        try {
+            toJson(src, typeOfSrc, writer);
+            writer.flush();
+        } catch (BufferOverflowException e) {
+            ((Buffer) out).position(start);
+            throw e;
+        } catch (IOException e) {
+            throw new JsonIoException(e);
+        }
+    }
+
+    public void toJson(Object src, Type typeOfSrc, Appendable writer) throws JsonIoException {
+        try {
+            JsonWriter jsonWriter = newJsonWriter(Streams.writerForAppendable(writer));
+            toJson(src, typeOfSrc, jsonWriter);
+        } catch (IOException e) {
+            throw new JsonIoException(e);
+        }
+    }
+
+    public void toJson(JsonElement jsonElement, Appendable writer) throws JsonIoException {
+        try {
+            JsonWriter jsonWriter = newJsonWriter(Streams.writerForAppendable(writer));
+            toJson(jsonElement, jsonWriter);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public void toJson(JsonElement jsonElement, JsonWriter writer) throws JsonIoException {
+        boolean oldLenient = writer.isLenient();
+        writer.setLenient(true);
+        boolean oldHtmlSafe = writer.isHtmlSafe();
+        writer.setHtmlSafe(htmlSafe);
+        boolean oldSerializeNulls = writer.isSerializeNulls();
+        writer.setSerializeNulls(serializeNulls);
+        boolean oldShortestFloatingPoint = writer.isShortestFloatingPoint();
+        writer.setShortestFloatingPoint(shortestFloatingPoint);
+        try {
+            Streams.write(jsonElement, writer);
+        } catch (IOException e) {
+            throw new JsonIoException(e);
+        } finally {
+            writer.setLenient(oldLenient);
+            writer.setHtmlSafe(oldHtmlSafe);
+            writer.setSerializeNulls(oldSerializeNulls);
+            writer.setShortestFloatingPoint(oldShortestFloatingPoint);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void toJson(Object src, Type typeOfSrc, JsonWriter writer) throws JsonIoException {
+        TypeAdapter<?> adapter = getAdapter(TypeToken.get(typeOfSrc));
+        boolean oldLenient = writer.isLenient();
+        writer.setLenient(true);
+        boolean oldHtmlSafe = writer.isHtmlSafe();
+        writer.setHtmlSafe(htmlSafe);
+        boolean oldSerializeNulls = writer.isSerializeNulls();
+        writer.setSerializeNulls(serializeNulls);
+        boolean oldShortestFloatingPoint = writer.isShortestFloatingPoint();
+        writer.setShortestFloatingPoint(shortestFloatingPoint);
+        try {
+            ((TypeAdapter<Object>) adapter).write(writer, src);
+        } catch (IOException e) {
+            throw new JsonIoException(e);
+        } finally {
+            writer.setLenient(oldLenient);
+            writer.setHtmlSafe(oldHtmlSafe);
+            writer.setSerializeNulls(oldSerializeNulls);
+            writer.setShortestFloatingPoint(oldShortestFloatingPoint);
+        }
+    }
+
+    private JsonWriter newJsonWriter(Writer writer) throws IOException {
+        if (generateNonExecutableJson) {
+            writer.write(JSON_NON_EXECUTABLE_PREFIX);
+        }
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        if (prettyPrinting) {
+            jsonWriter.setIndent("  ");
+        }
+        jsonWriter.setSerializeNulls(serializeNulls);
+        return jsonWriter;
+    }
+
+
+
+    public <T> T fromJson(String json, Class<T> classOfT) throws JsonSyntaxException {
+        Object object = fromJson(json, (Type) classOfT);
+        return Primitives.wrap(classOfT).cast(object);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T fromJson(String json, Type typeOfT) throws JsonSyntaxException {
+        if (json == null) {
+            return null;
+        }
+        JsonReader jsonReader = new JsonReader(json);
+        T target = (T) fromJson(jsonReader, typeOfT);
+        assertFullConsumption(target, jsonReader);
+        return target;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T fromJson(Reader json, Type typeOfT) throws JsonIoException, JsonSyntaxException {
+        JsonReader jsonReader = new JsonReader(json);
+        T object = (T) fromJson(jsonReader, typeOfT);
+        assertFullConsumption(object, jsonReader);
+        return object;
+    }
+
+
+    /**
+     * 从UTF-8编码的字节数组反序列化，省去先转换为String的步骤
+     * @param json UTF-8 bytes
+     * @param typeOfT Type
+     * @param <T> T
+     * @return T
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T fromJson(byte[] json, Type typeOfT) throws JsonSyntaxException {
+        if (json == null) {
+            return null;
+        }
+        Utf8JsonReader jsonReader = new Utf8JsonReader(json);
+        jsonReader.setStructuralIndex(structuralIndex);
+        T object = (T) fromJson(jsonReader, typeOfT);
+        assertFullConsumption(object, jsonReader);
+        return object;
+    }
+
+    /**
+     * 从UTF-8编码的字节流反序列化，不会关闭该流
+     * @param json UTF-8 input stream
+     * @param typeOfT Type
+     * @param <T> T
+     * @return T
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T fromJson(InputStream json, Type typeOfT) throws JsonIoException, JsonSyntaxException {
+        Utf8JsonReader jsonReader = new Utf8JsonReader(json);
+        jsonReader.setStructuralIndex(structuralIndex);
+        T object = (T) fromJson(jsonReader, typeOfT);
+        assertFullConsumption(object, jsonReader);
+        return object;
+    }
+
+
+    /**
+     * 通过内存映射读取UTF-8编码的文件并反序列化，适合非常大的文件
+     * @param json file path
+     * @param typeOfT Type
+     * @param <T> T
+     * @return T
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T fromJson(Path json, Type typeOfT) throws JsonIoException, JsonSyntaxException {
+        try (Utf8JsonReader jsonReader = new Utf8JsonReader(new MappedFileInputStream(json))) {
+            jsonReader.setStructuralIndex(structuralIndex);
+            T object = (T) fromJson(jsonReader, typeOfT);
+            assertFullConsumption(object, jsonReader);
+            return object;
+        } catch (IOException e) {
+            throw new JsonIoException(e);
+        }
+    }
+
+
+    @SuppressWarnings("unchecked")
+    public <T> T fromJson(JsonReader reader, Type typeOfT) throws JsonIoException, JsonSyntaxException {
+        boolean isEmpty = true;
+        boolean oldLenient = reader.isLenient();
+        reader.setLenient(true);
+        try {
+            reader.peek();
+            isEmpty = false;
+            TypeToken<T> typeToken = (TypeToken<T>) TypeToken.get(typeOfT);
+            TypeAdapter<T> typeAdapter = getAdapter(typeToken);
+            T object = typeAdapter.read(reader);
+            return object;
+        } catch (EOFException e) {
+            /*
+             * For compatibility with JSON 1.5 and earlier, we return null for empty
+             * documents instead of throwing.
+             */
+            if (isEmpty) {
+                return null;
+            }
+            throw new JsonSyntaxException(e);
+        } catch (IllegalStateException | IOException e) {
+            throw new JsonSyntaxException(e);
+        } // TODO(inder): Figure out whether it is indeed right to rethrow this as JsonSyntaxException
+        finally {
+            reader.setLenient(oldLenient);
+        }
+    }
+
+    /**
+     * 反序列化到已有的对象中，用于复用对象：属性被覆盖，集合、Map被清空后重新填充。
+     * 类型取target.getClass()，泛型集合请使用{@link #fromJsonInto(JsonReader, Object, Type)}
+     * @param json json String
+     * @param target 要填充的对象
+     * @param <T> T
+     * @return 读取结果，通常就是target；json为null时为null
+     */
+    public <T> T fromJsonInto(String json, T target) throws JsonSyntaxException {
+        if (json == null) {
+            return null;
+        }
+        JsonReader jsonReader = new JsonReader(json);
+        T object = fromJsonInto(jsonReader, target);
+        assertFullConsumption(object, jsonReader);
+        return object;
+    }
+
+    /**
+     * 与{@link #fromJsonInto(String, Object)}一致，输入为UTF-8编码的字节数组
+     */
+    public <T> T fromJsonInto(byte[] json, T target) throws JsonSyntaxException {
+        if (json == null) {
+            return null;
+        }
+        Utf8JsonReader jsonReader = new Utf8JsonReader(json);
+        jsonReader.setStructuralIndex(structuralIndex);
+        T object = fromJsonInto(jsonReader, target);
+        assertFullConsumption(object, jsonReader);
+        return object;
+    }
+
+    public <T> T fromJsonInto(JsonReader reader, T target) throws JsonIoException, JsonSyntaxException {
+        CsonPreconditions.checkNotNull(target);
+        return fromJsonInto(reader, target, target.getClass());
+    }
+
+    /**
+     * @param reader JsonReader
+     * @param target 要填充的对象
+     * @param typeOfT target的类型，可以是泛型类型
+     * @param <T> T
+     * @return 读取结果，不能复用时为新对象
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T fromJsonInto(JsonReader reader, T target, Type typeOfT) throws JsonIoException, JsonSyntaxException {
+        boolean isEmpty = true;
+        boolean oldLenient = reader.isLenient();
+        reader.setLenient(true);
+        try {
+            reader.peek();
+            isEmpty = false;
+            TypeAdapter<T> typeAdapter = (TypeAdapter<T>) getAdapter(TypeToken.get(typeOfT));
+            return typeAdapter.readInto(reader, target);
+        } catch (EOFException e) {
+            if (isEmpty) {
+                return null;
+            }
+            throw new JsonSyntaxException(e);
+        } catch (IllegalStateException | IOException e) {
+            throw new JsonSyntaxException(e);
+        } finally {
+            reader.setLenient(oldLenient);
+        }
+    }
+
+    private static void assertFullConsumption(Object obj, JsonReader reader) {
+        try {
+            if (obj != null && reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonIoException("JSON document was not fully consumed.");
+            }
+        } catch (MalformedJsonException e) {
+            throw new JsonSyntaxException(e);
+        } catch (IOException e) {
+            throw new JsonIoException(e);
+        }
+    }
+
+
+
+
+
+
+
+    @Override
+    public String toString() {
+        return new StringBuilder("{serializeNulls:")
+                .append(serializeNulls)
+                .append(",factories:").append(factories)
+                .append("}")
+                .toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,174 @@
+package com.cracker.code.cson;
+
+import com.cracker.code.cson.internal.CsonPreconditions;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *
+ * CsonBuilder：按需配置并创建Cson，new Cson()等价于new CsonBuilder().create()
+ *
+ * setFieldNamingStrategy到setPrettyPrinting对应Cson构造方法原有的参数，之前只能取默认值；
+ * 其后的方法是各项性能相关的开关
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+public final class CsonBuilder {
+
+    private FieldNamingStrategy fieldNamingStrategy = FieldNamingPolicy.IDENTITY;
+    private final Map<Type, InstanceCreator<?>> instanceCreators = new HashMap<>();
+    private final List<TypeAdapterFactory> factories = new ArrayList<>();
+    private boolean serializeNulls;
+    private boolean complexMapKeySerialization;
+    private boolean generateNonExecutableJson = Cson.DEFAULT_JSON_NON_EXECUTABLE;
+    private boolean htmlSafe = true;
+    private boolean prettyPrinting;
+    private boolean generateAdapters;
+    private boolean binaryAsBase64;
+    private int stringSpillThreshold = Cson.DEFAULT_STRING_SPILL_THRESHOLD;
+    private boolean shortestFloatingPoint;
+    private boolean recordFieldOrderStats;
+    private boolean structuralIndex;
+
+    /**
+     * 属性名到json名称的转换规则，默认为{@link FieldNamingPolicy#IDENTITY}
+     */
+    public CsonBuilder setFieldNamingStrategy(FieldNamingStrategy fieldNamingStrategy) {
+        this.fieldNamingStrategy = CsonPreconditions.checkNotNull(fieldNamingStrategy);
+        return this;
+    }
+
+    /**
+     * 创建type的实例时使用instanceCreator，优先于无参构造方法
+     */
+    public CsonBuilder registerInstanceCreator(Type type, InstanceCreator<?> instanceCreator) {
+        this.instanceCreators.put(CsonPreconditions.checkNotNull(type), CsonPreconditions.checkNotNull(instanceCreator));
+        return this;
+    }
+
+    /**
+     * 自定义的TypeAdapterFactory排在内置的基本类型适配器之前，按注册顺序查找
+     */
+    public CsonBuilder registerTypeAdapterFactory(TypeAdapterFactory factory) {
+        this.factories.add(CsonPreconditions.checkNotNull(factory));
+        return this;
+    }
+
+    /**
+     * 值为null的属性也写出，默认跳过
+     */
+    public CsonBuilder serializeNulls() {
+        this.serializeNulls = true;
+        return this;
+    }
+
+    /**
+     * 键不是基本类型的Map写成[[key, value], ...]形式的数组
+     */
+    public CsonBuilder enableComplexMapKeySerialization() {
+        this.complexMapKeySerialization = true;
+        return this;
+    }
+
+    /**
+     * 输出前加上防止被当作脚本执行的前缀
+     */
+    public CsonBuilder generateNonExecutableJson() {
+        this.generateNonExecutableJson = true;
+        return this;
+    }
+
+    /**
+     * 不转义&lt;、&gt;、&amp;、=和'
+     */
+    public CsonBuilder disableHtmlEscaping() {
+        this.htmlSafe = false;
+        return this;
+    }
+
+    /**
+     * 带缩进和换行输出
+     */
+    public CsonBuilder setPrettyPrinting() {
+        this.prettyPrinting = true;
+        return this;
+    }
+
+    /**
+     * 为通过反射绑定的类在运行时生成属性读写代码：属性按内存偏移量直接读写，int属性不装箱。
+     * 当前JVM不支持时自动退回到反射
+     */
+    public CsonBuilder generateAdapters() {
+        this.generateAdapters = true;
+        return this;
+    }
+
+    /**
+     * byte[]和ByteBuffer写成Base64字符串，而不是数字数组。编码直接写入JsonWriter的缓冲区，
+     * 解码直接读JsonReader的缓冲区，都不创建中间的String；读取时同时接受URL安全的字母表
+     */
+    public CsonBuilder encodeBinaryAsBase64() {
+        this.binaryAsBase64 = true;
+        return this;
+    }
+
+    /**
+     * 类型为Reader或CharSequence的属性，字符串值超过chars个字符时转存到临时文件，默认为1M个字符。
+     * 注意Reader属性写出时会被读到末尾，同一个对象只能序列化一次；需要多次写出时声明为CharSequence
+     */
+    public CsonBuilder setStringSpillThreshold(int chars) {
+        if (chars < 0) {
+            throw new IllegalArgumentException("chars < 0: " + chars);
+        }
+        this.stringSpillThreshold = chars;
+        return this;
+    }
+
+    /**
+     * double、float总是按最短的、能唯一还原的十进制表示直接写入缓冲区，不创建String。
+     * JDK 19起这就是Double.toString的输出，默认已经开启；更早的JDK上默认使用Double.toString、Float.toString，
+     * 开启后约1%的double、8%的float会少一位数字(例如3.00517385E15写成3.0051739E15)，解析回来仍是同一个值
+     */
+    public CsonBuilder useShortestFloatingPoint() {
+        this.shortestFloatingPoint = true;
+        return this;
+    }
+
+    /**
+     * 统计每个通过反射绑定的类型按顺序预测属性名的命中次数，通过{@link Cson#getFieldOrderStats()}查看。
+     * 默认关闭，关闭时读取对象不更新任何计数器
+     */
+    public CsonBuilder recordFieldOrderStats() {
+        this.recordFieldOrderStats = true;
+        return this;
+    }
+
+    /**
+     * 从byte[]、InputStream反序列化时先用SWAR扫描出结构字符和字符串边界的索引，再沿索引生成token，
+     * 跳过不需要的对象、数组时只数括号。没有SIMD时建索引的开销与逐字节解析相当，默认关闭，
+     * 适合需要大量跳过字段的场景
+     */
+    public CsonBuilder useStructuralIndex() {
+        this.structuralIndex = true;
+        return this;
+    }
+
+    public Cson create() {
+        List<TypeAdapterFactory> factories = new ArrayList<>(this.factories);
+        return new Cson(this.fieldNamingStrategy, Collections.unmodifiableMap(new HashMap<>(this.instanceCreators)),
+                this.serializeNulls, this.complexMapKeySerialization, this.generateNonExecutableJson, this.htmlSafe,
+                this.prettyPrinting, this.generateAdapters, this.binaryAsBase64, this.stringSpillThreshold,
+                this.shortestFloatingPoint, this.recordFieldOrderStats, this.structuralIndex,
+                Collections.unmodifiableList(factories));
+    }
+}
@@ -0,0 +1,62 @@
+package com.cracker.code.cson;
+
+import java.lang.reflect.Type;
+
+/**
+ *
+ * FieldOrderStats：某个类型读取时按顺序预测属性名的统计快照
+ *
+ * 通过反射绑定的类型在读取对象时，先假设下一个属性名紧跟在上一个之后，只比较这一个名称；
+ * 不符时再按哈希查找。命中率低说明输入的属性顺序与类中的声明顺序差别较大。
+ * 需要通过{@link CsonBuilder#recordFieldOrderStats()}开启，由{@link Cson#getFieldOrderStats()}取得
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+public final class FieldOrderStats {
+
+    private final Type type;
+    private final long hits;
+    private final long misses;
+
+    public FieldOrderStats(Type type, long hits, long misses) {
+        this.type = type;
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    public Type getType() {
+        return this.type;
+    }
+
+    /**
+     * @return 属性名与预测相符的次数
+     */
+    public long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * @return 属性名与预测不符的次数，包括类中没有的属性
+     */
+    public long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * @return 命中率，还没有读过属性时为0
+     */
+    public double getHitRate() {
+        long total = this.hits + this.misses;
+        return total == 0 ? 0 : (double) this.hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return this.type.getTypeName() + "{hits=" + this.hits + ", misses=" + this.misses + "}";
+    }
+}
@@ -1,13 +1,15 @@
 package com.cracker.code.cson;
 
+import com.cracker.code.cson.internal.MappedFileInputStream;
 import com.cracker.code.cson.internal.Streams;
 import com.cracker.code.cson.stream.JsonReader;
 import com.cracker.code.cson.stream.JsonToken;
 import com.cracker.code.cson.stream.MalformedJsonException;
+import com.cracker.code.cson.stream.Utf8JsonReader;
 
 import java.io.IOException;
 import java.io.Reader;
-import java.io.StringReader;
+import java.nio.file.Path;
 
 /**
  *
@@ -23,12 +25,28 @@ import java.io.StringReader;
 public final class JsonParser {
 
     public JsonElement parse(String json) throws JsonSyntaxException {
-        return parse(new StringReader(json));
+        return parseFully(new JsonReader(json));
     }
 
     public JsonElement parse(Reader json) throws JsonIoException, JsonSyntaxException {
+        return parseFully(new JsonReader(json));
+    }
+
+    /**
+     * 通过内存映射读取UTF-8编码的文件
+     * @param json file path
+     * @return JsonElement
+     */
+    public JsonElement parse(Path json) throws JsonIoException, JsonSyntaxException {
+        try (JsonReader jsonReader = new Utf8JsonReader(new MappedFileInputStream(json))) {
+            return parseFully(jsonReader);
+        } catch (IOException e) {
+            throw new JsonIoException(e);
+        }
+    }
+
+    private JsonElement parseFully(JsonReader jsonReader) throws JsonIoException, JsonSyntaxException {
         try {
-            JsonReader jsonReader = new JsonReader(json);
             JsonElement element = parse(jsonReader);
             if (!element.isJsonNull() && jsonReader.peek() != JsonToken.END_DOCUMENT) {
                 throw new JsonSyntaxException("Did not consume the entire document.");
@@ -39,6 +39,18 @@ public abstract class TypeAdapter<T> {
      */
     public abstract void write(JsonWriter out, T value) throws IOException;
 
+    /**
+     * 读取一个json值并尽量填充到已有的target中，用于复用对象。
+     * json中没有出现的属性保持target原来的值；不能复用时(例如不可变类型)与read一致，返回新对象
+     * @param in JsonReader
+     * @param target 要填充的对象，为null时与read一致
+     * @return 读取结果：复用时就是target，json为null时为null
+     * @throws IOException IOException
+     */
+    public T readInto(JsonReader in, T target) throws IOException {
+        return read(in);
+    }
+
 
     public final JsonElement toJsonTree(T value) {
         try {
@@ -0,0 +1,27 @@
+package com.cracker.code.cson.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ *
+ * CsonCreator：标注反序列化时使用的构造方法或静态工厂方法
+ *
+ * 读取时先把属性值读到临时数组里，读完整个对象后调用一次该方法，适合属性都是final的不可变类。
+ * value按参数顺序给出对应的json属性名；为空时按参数名对应同名属性，需要用-parameters编译。
+ * record不需要标注，自动使用规范构造方法
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.CONSTRUCTOR, ElementType.METHOD})
+@Documented
+public @interface CsonCreator {
+
+    String[] value() default {};
+
+}
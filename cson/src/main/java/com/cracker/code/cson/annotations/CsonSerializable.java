@@ -0,0 +1,24 @@
+package com.cracker.code.cson.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ *
+ * 编译时生成TypeAdapter的类
+ *
+ * 使用方把cson-processor模块加入注解处理器路径后，由其中的CsonProcessor为标注的类生成不使用反射的TypeAdapter和
+ * TypeAdapterFactory，第一次创建Cson时通过ServiceLoader发现。要求：类不是泛型类、不是非静态内部类，有可访问的无参构造器；
+ * 属性可以直接访问，否则需要有可访问的getter、setter。输出与反射绑定相同，包括静态属性
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+@Documented
+public @interface CsonSerializable {
+}
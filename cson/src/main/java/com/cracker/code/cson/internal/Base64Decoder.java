@@ -0,0 +1,112 @@
+package com.cracker.code.cson.internal;
+
+import java.util.Arrays;
+
+/**
+ *
+ * Base64Decoder：JsonReader和JsonTreeReader共用的Base64查表解码
+ *
+ * 一张表同时包含标准和URL安全的字母表，所以两种字母表混用的输入也能解码；填充可以省略。
+ * JsonReader在缓冲区上逐个字符调用{@link #value(char)}，其余情况整体调用{@link #decode(CharSequence)}
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+public final class Base64Decoder {
+
+    /**
+     * Base64字符对应的值，同时包含标准和URL安全的字母表，其余为-1
+     */
+    private static final byte[] VALUES = new byte[128];
+
+    static {
+        Arrays.fill(VALUES, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            VALUES[alphabet.charAt(i)] = (byte) i;
+        }
+        VALUES['-'] = 62;
+        VALUES['_'] = 63;
+    }
+
+    private Base64Decoder() {
+    }
+
+    /**
+     * @return c对应的6位值，不是Base64字符时返回-1
+     */
+    public static int value(char c) {
+        return c < 128 ? VALUES[c] : -1;
+    }
+
+    /**
+     * 解码整个字符串
+     * @param value Base64字符串
+     * @return 解码后的字节
+     * @throws IllegalArgumentException 不是合法的Base64
+     */
+    public static byte[] decode(CharSequence value) {
+        int chars = value.length();
+        while (chars > 0 && value.charAt(chars - 1) == '=') {
+            chars--;
+        }
+        byte[] result = new byte[chars * 3 / 4];
+        int size = 0;
+        int bits = 0;
+        int count = 0;
+        int padding = 0;
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            int v = value(c);
+            if (v >= 0 && padding == 0) {
+                bits = bits << 6 | v;
+                if (++count == 4) {
+                    result[size++] = (byte) (bits >> 16);
+                    result[size++] = (byte) (bits >> 8);
+                    result[size++] = (byte) bits;
+                    bits = 0;
+                    count = 0;
+                }
+            } else if (c == '=') {
+                padding++;
+            } else {
+                throw new IllegalArgumentException("Invalid Base64 character '" + c + "' at index " + i);
+            }
+        }
+        result = finish(result, size, bits, count, padding);
+        if (result == null) {
+            throw new IllegalArgumentException("Invalid Base64 length " + value.length());
+        }
+        return result;
+    }
+
+    /**
+     * 写出最后不足4个字符的分组，检查填充
+     * @param result 已解码的字节，size之后的空间可能不足
+     * @param size 已解码的字节数
+     * @param bits 最后一组中已读到的位
+     * @param count 最后一组中已读到的字符数
+     * @param padding 读到的'='个数
+     * @return 长度正好的解码结果，长度或填充不合法时返回null
+     */
+    public static byte[] finish(byte[] result, int size, int bits, int count, int padding) {
+        if (count == 1 || (padding > 0 && count + padding != 4)) {
+            return null;
+        }
+        int length = count == 0 ? size : size + count - 1;
+        if (length != result.length) {
+            result = Arrays.copyOf(result, length);
+        }
+        if (count == 2) {
+            result[size] = (byte) (bits >> 4);
+        } else if (count == 3) {
+            result[size] = (byte) (bits >> 10);
+            result[size + 1] = (byte) (bits >> 2);
+        }
+        return result;
+    }
+}
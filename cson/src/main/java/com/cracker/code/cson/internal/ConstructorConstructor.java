@@ -4,11 +4,17 @@ import com.cracker.code.cson.InstanceCreator;
 import com.cracker.code.cson.JsonIoException;
 import com.cracker.code.cson.reflect.TypeToken;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  *
@@ -23,6 +29,13 @@ import java.util.*;
  */
 public class ConstructorConstructor {
 
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * 没有无参构造方法时的最后手段，所有类型共用一个
+     */
+    private static final UnsafeAllocator UNSAFE_ALLOCATOR = UnsafeAllocator.create();
+
     private final Map<Type, InstanceCreator<?>> instanceCreators;
 
     public ConstructorConstructor(Map<Type, InstanceCreator<?>> instanceCreators) {
@@ -68,34 +81,106 @@ public class ConstructorConstructor {
         return newUnsafeAllocator(type, rawType);
     }
 
+    /**
+     * 无参构造方法依次尝试：LambdaMetafactory生成的Supplier(public的类和构造方法)、MethodHandle。
+     * 两者都由JIT当作普通调用处理，不经过Constructor.newInstance的参数检查和异常包装
+     */
     private <T> ObjectConstructor<T> newDefaultConstructor(Class<? super T> rawType) {
-
+        if (Modifier.isAbstract(rawType.getModifiers())) {
+            return null;
+        }
+        final Constructor<? super T> constructor;
+        try {
+            constructor = rawType.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
         try {
-            Constructor<? super T> constructor = rawType.getDeclaredConstructor();
             if (!constructor.isAccessible()) {
                 constructor.setAccessible(true);
             }
+        } catch (RuntimeException e) {
+            // jdk9+中没有开放的模块，退回到UnsafeAllocator
+            return null;
+        }
+
+        final Supplier<?> supplier = newSupplier(constructor);
+        if (supplier != null) {
             return new ObjectConstructor<T>() {
                 @Override
                 @SuppressWarnings("unchecked")
                 public T construct() {
                     try {
-                        return (T) constructor.newInstance((Object) null);
-                    } catch (InstantiationException e) {
+                        return (T) supplier.get();
+                    } catch (Error e) {
+                        throw e;
+                    } catch (Throwable e) {
                         throw new RuntimeException("Failed to invoke " + constructor + " with no args", e);
-                    } catch (InvocationTargetException  e) {
-                        throw new RuntimeException("Failed to invoke " + constructor + " with no args",
-                                e.getTargetException());
-                    } catch (IllegalAccessException e) {
-                        throw new AssertionError(e);
                     }
                 }
             };
-        } catch (NoSuchMethodException e) {
+        }
+
+        final MethodHandle handle;
+        try {
+            handle = LOOKUP.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+        return new ObjectConstructor<T>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public T construct() {
+                try {
+                    return (T) (Object) handle.invokeExact();
+                } catch (Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new RuntimeException("Failed to invoke " + constructor + " with no args", e);
+                }
+            }
+        };
+    }
+
+    /**
+     * 生成的Supplier类由Cson的ClassLoader定义，直接调用构造方法，
+     * 因此只用于public的类和构造方法，且该类能被Cson的ClassLoader找到
+     * @return 不满足条件或生成失败时返回null
+     */
+    private static Supplier<?> newSupplier(Constructor<?> constructor) {
+        Class<?> rawType = constructor.getDeclaringClass();
+        if (!Modifier.isPublic(constructor.getModifiers()) || !isPublic(rawType) || !isVisible(rawType)) {
+            return null;
+        }
+        try {
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, "get",
+                    MethodType.methodType(Supplier.class), MethodType.methodType(Object.class),
+                    LOOKUP.unreflectConstructor(constructor), MethodType.methodType(rawType));
+            return (Supplier<?>) site.getTarget().invokeExact();
+        } catch (VirtualMachineError e) {
+            throw e;
+        } catch (Throwable e) {
             return null;
         }
     }
 
+    private static boolean isPublic(Class<?> rawType) {
+        for (Class<?> c = rawType; c != null; c = c.getEnclosingClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isVisible(Class<?> rawType) {
+        try {
+            return Class.forName(rawType.getName(), false, ConstructorConstructor.class.getClassLoader()) == rawType;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private <T> ObjectConstructor<T> newDefaultImplementationConstructor(
             final Type type, Class<? super T> rawType) {
@@ -180,14 +265,11 @@ public class ConstructorConstructor {
     private <T> ObjectConstructor<T> newUnsafeAllocator(final Type type, final Class<? super T> rawType) {
         // 匿名类有时候使用起来很方便好用
         return new ObjectConstructor<T>() {
-
-            private final UnsafeAllocator unsafeAllocator = UnsafeAllocator.create();
-
             @Override
             @SuppressWarnings("unchecked")
             public T construct() {
                 try {
-                    Object newInstance = unsafeAllocator.newInstance(rawType);
+                    Object newInstance = UNSAFE_ALLOCATOR.newInstance(rawType);
                     return (T) newInstance;
                 } catch (Exception exception) {
                     throw new RuntimeException("Unable to invoke no-args constructor for " + type + ". "
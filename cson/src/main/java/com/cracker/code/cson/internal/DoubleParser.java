@@ -0,0 +1,298 @@
+package com.cracker.code.cson.internal;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ *
+ * DoubleParser：直接在字符缓冲区上把十进制数转换为double
+ *
+ * 先尝试Clinger快速路径：有效数字不超过2^53、10的指数不超过22时，一次浮点乘除就是精确结果；
+ * 否则使用Eisel-Lemire算法，用128位的5的幂近似值求出正确舍入的结果。
+ * 有效数字超过19位时交给Double.parseDouble，只有这种情况会创建String。
+ *
+ * 输入必须已经是合法的JSON数字(由JsonReader校验)：-?\d+(\.\d+)?([eE][+-]?\d+)?
+ *
+ * 参考：Daniel Lemire, Number Parsing at a Gigabyte per Second;
+ * Noble Mushtak, Daniel Lemire, Fast Number Parsing Without Fallback
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+public final class DoubleParser {
+
+    private static final int SMALLEST_POWER_OF_FIVE = -342;
+    private static final int LARGEST_POWER_OF_FIVE = 308;
+
+    private static final double[] EXACT_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * 5^q的128位近似值，q从-342到308，每个q依次存放高64位和低64位
+     */
+    private static final long[] POWERS_OF_FIVE = powersOfFive();
+
+    private DoubleParser() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * 与fast_float的表生成方式一致：正指数截断到128位，负指数取倒数后加1再截断
+     */
+    private static long[] powersOfFive() {
+        long[] table = new long[(LARGEST_POWER_OF_FIVE - SMALLEST_POWER_OF_FIVE + 1) * 2];
+        BigInteger five = BigInteger.valueOf(5);
+        for (int q = SMALLEST_POWER_OF_FIVE; q <= LARGEST_POWER_OF_FIVE; q++) {
+            BigInteger value;
+            if (q >= 0) {
+                BigInteger power = five.pow(q);
+                int shift = power.bitLength() - 128;
+                value = shift > 0 ? power.shiftRight(shift) : power.shiftLeft(-shift);
+            } else {
+                BigInteger power = five.pow(-q);
+                int z = power.bitLength();
+                if (power.equals(BigInteger.ONE.shiftLeft(z - 1))) {
+                    z--;
+                }
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                value = BigInteger.ONE.shiftLeft(b).divide(power).add(BigInteger.ONE);
+                int shift = value.bitLength() - 128;
+                if (shift > 0) {
+                    value = value.shiftRight(shift);
+                }
+            }
+            int index = (q - SMALLEST_POWER_OF_FIVE) * 2;
+            table[index] = value.shiftRight(64).longValue();
+            table[index + 1] = value.longValue();
+        }
+        return table;
+    }
+
+    /**
+     * 解析buffer[offset, offset + length)中的JSON数字
+     * @param buffer 字符缓冲区
+     * @param offset 起始位置
+     * @param length 长度
+     * @return 正确舍入的double
+     */
+    public static double parse(char[] buffer, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        boolean negative = buffer[i] == '-';
+        if (negative) {
+            i++;
+        }
+
+        // 最多保留19位有效数字，一定不超过无符号long的范围
+        long significand = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean truncated = false;
+        char c;
+        for (; i < end && (c = buffer[i]) >= '0' && c <= '9'; i++) {
+            if (digits < 19) {
+                if (significand != 0 || c != '0') {
+                    significand = significand * 10 + (c - '0');
+                    digits++;
+                }
+            } else {
+                exponent++;
+                truncated |= c != '0';
+            }
+        }
+        if (i < end && buffer[i] == '.') {
+            for (i++; i < end && (c = buffer[i]) >= '0' && c <= '9'; i++) {
+                if (digits < 19) {
+                    if (significand != 0 || c != '0') {
+                        significand = significand * 10 + (c - '0');
+                        digits++;
+                    }
+                    exponent--;
+                } else {
+                    truncated |= c != '0';
+                }
+            }
+        }
+        if (i < end) {
+            // 'e' or 'E'
+            i++;
+            boolean negativeExponent = buffer[i] == '-';
+            if (negativeExponent || buffer[i] == '+') {
+                i++;
+            }
+            int explicit = 0;
+            for (; i < end; i++) {
+                if (explicit < 100000) {
+                    explicit = explicit * 10 + (buffer[i] - '0');
+                }
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+
+        if (truncated) {
+            return Double.parseDouble(new String(buffer, offset, length));
+        }
+        double result = toDouble(significand, exponent);
+        return negative ? -result : result;
+    }
+
+    /**
+     * 与{@link #parse(char[], int, int)}相同，数字位于UTF-8字节缓冲区中
+     * @param buffer 字节缓冲区
+     * @param offset 起始位置
+     * @param length 长度
+     * @return 正确舍入的double
+     */
+    public static double parse(byte[] buffer, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        boolean negative = buffer[i] == '-';
+        if (negative) {
+            i++;
+        }
+
+        // 最多保留19位有效数字，一定不超过无符号long的范围
+        long significand = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean truncated = false;
+        int c;
+        for (; i < end && (c = buffer[i]) >= '0' && c <= '9'; i++) {
+            if (digits < 19) {
+                if (significand != 0 || c != '0') {
+                    significand = significand * 10 + (c - '0');
+                    digits++;
+                }
+            } else {
+                exponent++;
+                truncated |= c != '0';
+            }
+        }
+        if (i < end && buffer[i] == '.') {
+            for (i++; i < end && (c = buffer[i]) >= '0' && c <= '9'; i++) {
+                if (digits < 19) {
+                    if (significand != 0 || c != '0') {
+                        significand = significand * 10 + (c - '0');
+                        digits++;
+                    }
+                    exponent--;
+                } else {
+                    truncated |= c != '0';
+                }
+            }
+        }
+        if (i < end) {
+            // 'e' or 'E'
+            i++;
+            boolean negativeExponent = buffer[i] == '-';
+            if (negativeExponent || buffer[i] == '+') {
+                i++;
+            }
+            int explicit = 0;
+            for (; i < end; i++) {
+                if (explicit < 100000) {
+                    explicit = explicit * 10 + (buffer[i] - '0');
+                }
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+
+        if (truncated) {
+            return Double.parseDouble(new String(buffer, offset, length, StandardCharsets.ISO_8859_1));
+        }
+        double result = toDouble(significand, exponent);
+        return negative ? -result : result;
+    }
+
+    /**
+     * 计算significand * 10^exponent，significand按无符号数处理
+     */
+    private static double toDouble(long significand, int exponent) {
+        if (significand == 0 || exponent < SMALLEST_POWER_OF_FIVE) {
+            return 0d;
+        }
+        if (exponent > LARGEST_POWER_OF_FIVE) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        // Clinger fast path
+        if (significand >= 0 && significand <= 1L << 53) {
+            if (exponent >= 0 && exponent <= 22) {
+                return significand * EXACT_POWERS_OF_TEN[exponent];
+            }
+            if (exponent < 0 && exponent >= -22) {
+                return significand / EXACT_POWERS_OF_TEN[-exponent];
+            }
+        }
+
+        // Eisel-Lemire
+        int leadingZeros = Long.numberOfLeadingZeros(significand);
+        long w = significand << leadingZeros;
+        int index = (exponent - SMALLEST_POWER_OF_FIVE) * 2;
+        long high = multiplyHigh(w, POWERS_OF_FIVE[index]);
+        long low = w * POWERS_OF_FIVE[index];
+        // 高位中参与舍入的低9位全为1时，低64位的乘积可能进位
+        long precisionMask = 0xFFFFFFFFFFFFFFFFL >>> 55;
+        if ((high & precisionMask) == precisionMask) {
+            long secondHigh = multiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+        }
+
+        int upperBit = (int) (high >>> 63);
+        long mantissa = high >>> (upperBit + 9);
+        int power2 = (((152170 + 65536) * exponent) >> 16) + 63 + upperBit - leadingZeros + 1023;
+
+        if (power2 <= 0) {
+            // 非规格化数
+            if (-power2 + 1 >= 64) {
+                return 0d;
+            }
+            mantissa >>>= -power2 + 1;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+            power2 = mantissa < (1L << 52) ? 0 : 1;
+            return Double.longBitsToDouble(mantissa | ((long) power2 << 52));
+        }
+
+        // 恰好位于两个double中间时按偶数舍入
+        if (Long.compareUnsigned(low, 1) <= 0 && exponent >= -4 && exponent <= 23 && (mantissa & 3) == 1
+                && (mantissa << (upperBit + 9)) == high) {
+            mantissa &= ~1L;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= (2L << 52)) {
+            mantissa = 1L << 52;
+            power2++;
+        }
+        mantissa &= ~(1L << 52);
+        if (power2 >= 0x7FF) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Double.longBitsToDouble(mantissa | ((long) power2 << 52));
+    }
+
+    /**
+     * 两个无符号long相乘的高64位。Math.multiplyHigh要到Java 9才有
+     */
+    private static long multiplyHigh(long x, long y) {
+        long x0 = x & 0xFFFFFFFFL;
+        long x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL;
+        long y1 = y >>> 32;
+        long p00 = x0 * y0;
+        long p01 = x0 * y1;
+        long p10 = x1 * y0;
+        long middle = p10 + (p00 >>> 32) + (p01 & 0xFFFFFFFFL);
+        return x1 * y1 + (middle >>> 32) + (p01 >>> 32);
+    }
+}
@@ -0,0 +1,124 @@
+package com.cracker.code.cson.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ *
+ * MappedFileInputStream：通过内存映射读取文件的字节
+ *
+ * 文件按块依次映射，每块不超过{@link #MAX_CHUNK_SIZE}，以绕开单个MappedByteBuffer 2GB的限制。
+ * 只搬运字节，不解码：交给{@link com.cracker.code.cson.stream.Utf8JsonReader}时，字节从映射的内存直接批量读入
+ * 它的字节缓冲区，跨块的词法单元和多字节字符由Utf8JsonReader的缓冲区拼接。映射的内存在对应的MappedByteBuffer被回收时才会释放
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+public final class MappedFileInputStream extends InputStream {
+
+    private static final int MAX_CHUNK_SIZE = 1 << 30;
+
+    private final FileChannel channel;
+    private final long size;
+    private final int chunkSize;
+
+    /**
+     * 当前映射的块，position之前的字节已经读出
+     */
+    private ByteBuffer mapped;
+
+    /**
+     * 当前块之后的字节在文件中的起始位置
+     */
+    private long mappedEnd;
+
+    public MappedFileInputStream(Path path) throws IOException {
+        this(FileChannel.open(path, StandardOpenOption.READ), MAX_CHUNK_SIZE);
+    }
+
+    private MappedFileInputStream(FileChannel channel, int chunkSize) throws IOException {
+        this.channel = channel;
+        try {
+            this.size = channel.size();
+            this.chunkSize = chunkSize;
+            map();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 映射当前块之后的下一块
+     */
+    private void map() throws IOException {
+        int length = (int) Math.min(size - mappedEnd, chunkSize);
+        mapped = channel.map(FileChannel.MapMode.READ_ONLY, mappedEnd, length);
+        mappedEnd += length;
+    }
+
+    /**
+     * @return 当前块还有剩余字节，或者映射了下一块时为true；文件结束时为false
+     */
+    private boolean ensureRemaining() throws IOException {
+        if (mapped.hasRemaining()) {
+            return true;
+        }
+        if (mappedEnd == size) {
+            return false;
+        }
+        map();
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return ensureRemaining() ? mapped.get() & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureRemaining()) {
+            return -1;
+        }
+        int count = Math.min(len, mapped.remaining());
+        mapped.get(b, off, count);
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && ensureRemaining()) {
+            int count = (int) Math.min(n - skipped, mapped.remaining());
+            ((Buffer) mapped).position(mapped.position() + count);
+            skipped += count;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, mapped.remaining() + size - mappedEnd);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,497 @@
+package com.cracker.code.cson.internal;
+
+import java.math.BigInteger;
+
+/**
+ *
+ * NumberFormatter：把long、double直接格式化到char[]中，不创建String
+ *
+ * long每次查表输出两位数字；double、float使用Schubfach算法求最短的、能唯一还原的十进制表示，
+ * 排版与Double.toString、Float.toString一致，例如1.0、0.001、1.0E-5、1.2345E20。
+ * JDK 19起两者也采用该算法，输出完全相同；更早的JDK有时会多输出一位数字(约1%的double、8%的float)，
+ * 见{@link #JDK_SHORTEST}。
+ *
+ * 参考：Raffaello Giulietti, The Schubfach way to render doubles
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+public final class NumberFormatter {
+
+    /**
+     * long最长的输出："-9223372036854775808"；double最长的输出："-2.2250738585072014E-308"
+     */
+    public static final int MAX_LENGTH = 24;
+
+    /**
+     * 当前JDK的Double.toString、Float.toString是否与format(double)、format(float)的输出完全相同
+     */
+    public static final boolean JDK_SHORTEST = javaVersion() >= 19;
+
+    private static final char[] DIGIT_TENS = new char[100];
+    private static final char[] DIGIT_ONES = new char[100];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            DIGIT_TENS[i] = (char) ('0' + i / 10);
+            DIGIT_ONES[i] = (char) ('0' + i % 10);
+        }
+    }
+
+    private static final int P = 53;
+    private static final int Q_MIN = -1074;
+    private static final long C_MIN = 1L << (P - 1);
+    private static final long C_TINY = 3;
+    private static final int H = 17;
+    private static final long MASK_63 = (1L << 63) - 1;
+    private static final long MASK_32 = (1L << 32) - 1;
+    private static final int MASK_28 = (1 << 28) - 1;
+
+    private static final int FLOAT_P = 24;
+    private static final int FLOAT_Q_MIN = -149;
+    private static final int FLOAT_C_MIN = 1 << (FLOAT_P - 1);
+    private static final int FLOAT_C_TINY = 8;
+    private static final int FLOAT_H = 9;
+
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+
+    /**
+     * 10^-k的126位近似值g，k从K_MIN到K_MAX，依次存放高63位和低63位
+     */
+    private static final long[] G = powersOfTen();
+
+    private static final long[] POW10 = new long[H + 1];
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i <= H; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+
+    private NumberFormatter() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @return 1.8返回8，9及以后直接返回主版本号
+     */
+    private static int javaVersion() {
+        String version = System.getProperty("java.specification.version", "1.8");
+        try {
+            return version.startsWith("1.") ? Integer.parseInt(version.substring(2)) : Integer.parseInt(version);
+        } catch (NumberFormatException e) {
+            return 8;
+        }
+    }
+
+    /**
+     * 10^-k = β 2^r，2^125 <= β < 2^126，g = floor(β) + 1
+     */
+    private static long[] powersOfTen() {
+        long[] table = new long[(K_MAX - K_MIN + 1) * 2];
+        BigInteger mask = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            BigInteger beta;
+            if (k <= 0) {
+                BigInteger power = BigInteger.TEN.pow(-k);
+                int shift = power.bitLength() - 126;
+                beta = shift > 0 ? power.shiftRight(shift) : power.shiftLeft(-shift);
+            } else {
+                BigInteger power = BigInteger.TEN.pow(k);
+                beta = BigInteger.ONE.shiftLeft(125 + power.bitLength()).divide(power);
+            }
+            BigInteger g = beta.add(BigInteger.ONE);
+            int index = (k - K_MIN) * 2;
+            table[index] = g.shiftRight(63).longValue();
+            table[index + 1] = g.and(mask).longValue();
+        }
+        return table;
+    }
+
+    /**
+     * 按Long.toString的格式写入
+     * @param value long
+     * @param buffer 至少有{@link #MAX_LENGTH}个字符的空间
+     * @param offset 起始位置
+     * @return 写入后的位置
+     */
+    public static int format(long value, char[] buffer, int offset) {
+        if (value == Long.MIN_VALUE) {
+            "-9223372036854775808".getChars(0, 20, buffer, offset);
+            return offset + 20;
+        }
+        int pos = offset;
+        if (value < 0) {
+            buffer[pos++] = '-';
+            value = -value;
+        }
+        int end = pos + digitCount(value);
+        int i = end;
+        while (value >= 100) {
+            long q = value / 100;
+            int r = (int) (value - q * 100);
+            value = q;
+            buffer[--i] = DIGIT_ONES[r];
+            buffer[--i] = DIGIT_TENS[r];
+        }
+        int r = (int) value;
+        buffer[--i] = DIGIT_ONES[r];
+        if (r >= 10) {
+            buffer[--i] = DIGIT_TENS[r];
+        }
+        return end;
+    }
+
+    private static int digitCount(long value) {
+        long p = 10;
+        for (int i = 1; i < 19; i++) {
+            if (value < p) {
+                return i;
+            }
+            p *= 10;
+        }
+        return 19;
+    }
+
+    /**
+     * 按Double.toString的格式写入最短的十进制表示，value必须是有限值
+     * @param value double
+     * @param buffer 至少有{@link #MAX_LENGTH}个字符的空间
+     * @param offset 起始位置
+     * @return 写入后的位置
+     */
+    public static int format(double value, char[] buffer, int offset) {
+        long bits = Double.doubleToRawLongBits(value);
+        long t = bits & ((1L << (P - 1)) - 1);
+        int bq = (int) (bits >>> (P - 1)) & 0x7FF;
+        int pos = offset;
+        if (bits < 0) {
+            buffer[pos++] = '-';
+        }
+        if (bq != 0) {
+            // 规格化数
+            int mq = -Q_MIN + 1 - bq;
+            long c = C_MIN | t;
+            // 整数值直接输出
+            if (0 < mq & mq < P) {
+                long f = c >> mq;
+                if (f << mq == c) {
+                    return toChars(f, 0, buffer, pos);
+                }
+            }
+            return toDecimal(-mq, c, 0, buffer, pos);
+        }
+        if (t != 0) {
+            // 非规格化数
+            return t < C_TINY
+                    ? toDecimal(Q_MIN, 10 * t, -1, buffer, pos)
+                    : toDecimal(Q_MIN, t, 0, buffer, pos);
+        }
+        buffer[pos++] = '0';
+        buffer[pos++] = '.';
+        buffer[pos++] = '0';
+        return pos;
+    }
+
+    /**
+     * 按Float.toString的格式写入最短的十进制表示，value必须是有限值
+     * @param value float
+     * @param buffer 至少有{@link #MAX_LENGTH}个字符的空间
+     * @param offset 起始位置
+     * @return 写入后的位置
+     */
+    public static int format(float value, char[] buffer, int offset) {
+        int bits = Float.floatToRawIntBits(value);
+        int t = bits & ((1 << (FLOAT_P - 1)) - 1);
+        int bq = (bits >>> (FLOAT_P - 1)) & 0xFF;
+        int pos = offset;
+        if (bits < 0) {
+            buffer[pos++] = '-';
+        }
+        if (bq != 0) {
+            int mq = -FLOAT_Q_MIN + 1 - bq;
+            int c = FLOAT_C_MIN | t;
+            if (0 < mq & mq < FLOAT_P) {
+                int f = c >> mq;
+                if (f << mq == c) {
+                    return toChars(f, 0, buffer, pos);
+                }
+            }
+            return toDecimal(-mq, c, 0, buffer, pos);
+        }
+        if (t != 0) {
+            return t < FLOAT_C_TINY
+                    ? toDecimal(FLOAT_Q_MIN, 10 * t, -1, buffer, pos)
+                    : toDecimal(FLOAT_Q_MIN, t, 0, buffer, pos);
+        }
+        buffer[pos++] = '0';
+        buffer[pos++] = '.';
+        buffer[pos++] = '0';
+        return pos;
+    }
+
+    /**
+     * float只需要g的高63位
+     */
+    private static int toDecimal(int q, int c, int dk, char[] buffer, int pos) {
+        int out = c & 0x1;
+        long cb = (long) c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != FLOAT_C_MIN | q == FLOAT_Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 33;
+
+        long g = G[(k - K_MIN) * 2] + 1;
+
+        int vb = rop(g, cb << h);
+        int vbl = rop(g, cbl << h);
+        int vbr = rop(g, cbr << h);
+
+        int s = vb >> 2;
+        if (s >= 100) {
+            // s / 10 * 10
+            int sp10 = 10 * (int) (s * 1_717_986_919L >>> 34);
+            int tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return toChars(upin ? sp10 : tp10, k, buffer, pos);
+            }
+        }
+        int t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return toChars(uin ? s : t, k + dk, buffer, pos);
+        }
+        int cmp = vb - (s + t << 1);
+        return toChars(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, buffer, pos);
+    }
+
+    private static int rop(long g, long cp) {
+        long x1 = multiplyHigh(g, cp);
+        long vbp = x1 >>> 31;
+        return (int) (vbp | (x1 & MASK_32) + MASK_32 >>> 32);
+    }
+
+    /**
+     * 输出f * 10^e，float最多9位有效数字
+     */
+    private static int toChars(int f, int e, char[] buffer, int pos) {
+        int len = flog10pow2(Integer.SIZE - Integer.numberOfLeadingZeros(f));
+        if (f >= POW10[len]) {
+            len += 1;
+        }
+        f *= (int) POW10[FLOAT_H - len];
+        e += len;
+        int h = (int) (f * 1_441_151_881L >>> 57);
+        int l = f - 100_000_000 * h;
+        return layout(h, l, 0, e, buffer, pos);
+    }
+
+    private static int toDecimal(int q, long c, int dk, char[] buffer, int pos) {
+        int out = (int) c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != C_MIN | q == Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+
+        int index = (k - K_MIN) * 2;
+        long g1 = G[index];
+        long g0 = G[index + 1];
+
+        long vb = rop(g1, g0, cb << h);
+        long vbl = rop(g1, g0, cbl << h);
+        long vbr = rop(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 100) {
+            // s / 10 * 10
+            long sp10 = 10 * multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return toChars(upin ? sp10 : tp10, k, buffer, pos);
+            }
+        }
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return toChars(uin ? s : t, k + dk, buffer, pos);
+        }
+        long cmp = vb - (s + t << 1);
+        return toChars(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, buffer, pos);
+    }
+
+    private static long rop(long g1, long g0, long cp) {
+        long x1 = multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    /**
+     * 输出f * 10^e
+     */
+    private static int toChars(long f, int e, char[] buffer, int pos) {
+        // 10^(len-1) <= f < 10^len
+        int len = flog10pow2(Long.SIZE - Long.numberOfLeadingZeros(f));
+        if (f >= POW10[len]) {
+            len += 1;
+        }
+        // 变换为10^(H-1) <= f < 10^H，f 10^e = 0.f 10^e
+        f *= POW10[H - len];
+        e += len;
+
+        // 拆成最高位h、中间8位m、最低8位l，用int逐位输出
+        long hm = multiplyHigh(f, 193_428_131_138_340_668L) >>> 20;
+        int l = (int) (f - 100_000_000L * hm);
+        int h = (int) (hm * 1_441_151_881L >>> 57);
+        int m = (int) (hm - 100_000_000 * h);
+        return layout(h, m, l, e, buffer, pos);
+    }
+
+    /**
+     * 输出0.hml * 10^e，h为1位、m和l各为8位数字
+     */
+    private static int layout(int h, int m, int l, int e, char[] buffer, int pos) {
+        if (0 < e && e <= 7) {
+            // 不带前导0的普通格式
+            buffer[pos++] = (char) ('0' + h);
+            int y = y(m);
+            int i = 1;
+            for (; i < e; ++i) {
+                int d = 10 * y;
+                buffer[pos++] = (char) ('0' + (d >>> 28));
+                y = d & MASK_28;
+            }
+            buffer[pos++] = '.';
+            for (; i <= 8; ++i) {
+                int d = 10 * y;
+                buffer[pos++] = (char) ('0' + (d >>> 28));
+                y = d & MASK_28;
+            }
+            return lowDigits(l, buffer, pos);
+        }
+        if (-3 < e && e <= 0) {
+            // 带前导0的普通格式
+            buffer[pos++] = '0';
+            buffer[pos++] = '.';
+            for (; e < 0; ++e) {
+                buffer[pos++] = '0';
+            }
+            buffer[pos++] = (char) ('0' + h);
+            pos = append8Digits(m, buffer, pos);
+            return lowDigits(l, buffer, pos);
+        }
+        // 科学计数法
+        buffer[pos++] = (char) ('0' + h);
+        buffer[pos++] = '.';
+        pos = append8Digits(m, buffer, pos);
+        pos = lowDigits(l, buffer, pos);
+        return exponent(e - 1, buffer, pos);
+    }
+
+    private static int lowDigits(int l, char[] buffer, int pos) {
+        if (l != 0) {
+            pos = append8Digits(l, buffer, pos);
+        }
+        // 去掉末尾的0，但保留小数点后的第一位
+        while (buffer[pos - 1] == '0') {
+            pos--;
+        }
+        if (buffer[pos - 1] == '.') {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int append8Digits(int m, char[] buffer, int pos) {
+        int y = y(m);
+        for (int i = 0; i < 8; ++i) {
+            int d = 10 * y;
+            buffer[pos++] = (char) ('0' + (d >>> 28));
+            y = d & MASK_28;
+        }
+        return pos;
+    }
+
+    private static int y(int a) {
+        // floor((a + 1) 2^28 / 10^8) - 1
+        return (int) (multiplyHigh((long) (a + 1) << 28, 193_428_131_138_340_668L) >>> 20) - 1;
+    }
+
+    private static int exponent(int e, char[] buffer, int pos) {
+        buffer[pos++] = 'E';
+        if (e < 0) {
+            buffer[pos++] = '-';
+            e = -e;
+        }
+        if (e < 10) {
+            buffer[pos++] = (char) ('0' + e);
+            return pos;
+        }
+        int d;
+        if (e >= 100) {
+            d = e * 1_311 >>> 17;
+            buffer[pos++] = (char) ('0' + d);
+            e -= 100 * d;
+        }
+        d = e * 103 >>> 10;
+        buffer[pos++] = (char) ('0' + d);
+        buffer[pos++] = (char) ('0' + e - 10 * d);
+        return pos;
+    }
+
+    private static int flog10pow2(int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    private static int flog10threeQuartersPow2(int e) {
+        return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    private static int flog2pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    /**
+     * 两个非负long相乘的高64位。Math.multiplyHigh要到Java 9才有
+     */
+    private static long multiplyHigh(long x, long y) {
+        long x0 = x & 0xFFFFFFFFL;
+        long x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL;
+        long y1 = y >>> 32;
+        long p00 = x0 * y0;
+        long p01 = x0 * y1;
+        long p10 = x1 * y0;
+        long middle = p10 + (p00 >>> 32) + (p01 & 0xFFFFFFFFL);
+        return x1 * y1 + (middle >>> 32) + (p01 >>> 32);
+    }
+}
@@ -0,0 +1,394 @@
+package com.cracker.code.cson.internal;
+
+import com.cracker.code.cson.stream.StringChunkHandler;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *
+ * SpillingCharBuffer：接收一个字符串值，超过阈值后转存到临时文件
+ *
+ * 配合{@link com.cracker.code.cson.stream.JsonReader#nextString(StringChunkHandler)}使用。
+ * 不超过阈值时字符留在内存中；超过后已有的和后续的字符按UTF-16BE写入临时文件，每个字符固定2个字节，
+ * 所以读取时可以按下标直接定位，内存占用与字符串长度无关。
+ * 临时文件在toReader()返回的Reader关闭时删除；返回的Reader或字符序列不再被引用、被回收后，
+ * 在下一次toReader()、toCharSequence()或转存时删除。不使用deleteOnExit，它登记的路径直到JVM退出才释放
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+public final class SpillingCharBuffer implements StringChunkHandler {
+
+    /**
+     * 读写临时文件时每次处理的字符数
+     */
+    private static final int PAGE_SIZE = 8192;
+
+    /**
+     * 持有临时文件的对象被回收后，对应的TempFile进入该队列
+     */
+    private static final ReferenceQueue<Object> RELEASED = new ReferenceQueue<>();
+
+    /**
+     * 保证TempFile本身在被处理前不会被回收
+     */
+    private static final Set<TempFile> TEMP_FILES = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    private final int threshold;
+
+    /**
+     * 转存之前的字符
+     */
+    private char[] chars = new char[16];
+    private int size;
+
+    /**
+     * 转存之后的临时文件
+     */
+    private Path file;
+    private FileChannel channel;
+    private ByteBuffer bytes;
+    private long length;
+
+    /**
+     * @param threshold 内存中最多保留的字符数
+     */
+    public SpillingCharBuffer(int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void chunk(char[] chars, int offset, int length) throws IOException {
+        if (this.channel == null) {
+            if (this.size + length <= this.threshold) {
+                if (this.size + length > this.chars.length) {
+                    this.chars = Arrays.copyOf(this.chars, Math.min(this.threshold,
+                            Math.max(this.size + length, this.chars.length * 2)));
+                }
+                System.arraycopy(chars, offset, this.chars, this.size, length);
+                this.size += length;
+                return;
+            }
+            spill();
+        }
+        ByteBuffer bytes = this.bytes;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            if (!bytes.hasRemaining()) {
+                drain();
+            }
+            bytes.putChar(chars[i]);
+        }
+        this.length += length;
+    }
+
+    /**
+     * @return 是否已经转存到临时文件
+     */
+    public boolean isSpilled() {
+        return this.file != null;
+    }
+
+    /**
+     * 结束写入，返回读取全部字符的Reader。转存时关闭该Reader会删除临时文件
+     * @return Reader
+     * @throws IOException IOException
+     */
+    public Reader toReader() throws IOException {
+        deleteReleased();
+        if (!finish()) {
+            return new CharArrayReader(this.chars, 0, this.size);
+        }
+        return track(new FileCharReader(this.file, null, 0, this.length, true));
+    }
+
+    /**
+     * 结束写入，返回全部字符。没有转存时是String，否则是按需读取临时文件的字符序列
+     * @return CharSequence
+     * @throws IOException IOException
+     */
+    public CharSequence toCharSequence() throws IOException {
+        deleteReleased();
+        if (!finish()) {
+            return new String(this.chars, 0, this.size);
+        }
+        if (this.length > Integer.MAX_VALUE) {
+            discard();
+            throw new IOException("String value of " + this.length + " chars is too long for a CharSequence");
+        }
+        return track(new FileCharSequence(this.file, null, 0, (int) this.length));
+    }
+
+    /**
+     * @param value toCharSequence()返回的字符序列
+     * @return 读取其中全部字符的Reader，不会删除临时文件；不是转存的字符序列时返回null
+     */
+    public static Reader openReader(CharSequence value) {
+        if (!(value instanceof FileCharSequence)) {
+            return null;
+        }
+        FileCharSequence sequence = (FileCharSequence) value;
+        return new FileCharReader(sequence.file, sequence.root, sequence.start, sequence.length, false);
+    }
+
+    /**
+     * 放弃已经写入的字符：关闭并删除临时文件。读取字符串失败时调用，之后不能再使用
+     */
+    public void discard() {
+        this.chars = null;
+        this.size = 0;
+        this.bytes = null;
+        try {
+            if (this.channel != null) {
+                this.channel.close();
+            }
+        } catch (IOException ignored) {
+            // 只是要释放文件句柄，写入失败已经没有意义
+        } finally {
+            this.channel = null;
+            if (this.file != null) {
+                try {
+                    Files.deleteIfExists(this.file);
+                } catch (IOException ignored) {
+                    // 文件仍被占用时留在临时目录中，由系统清理
+                }
+                this.file = null;
+            }
+        }
+    }
+
+    private void spill() throws IOException {
+        deleteReleased();
+        this.file = Files.createTempFile("cson-string-", ".tmp");
+        this.channel = FileChannel.open(this.file, StandardOpenOption.WRITE);
+        this.bytes = ByteBuffer.allocate(PAGE_SIZE * 2);
+        char[] memory = this.chars;
+        int count = this.size;
+        this.chars = null;
+        this.size = 0;
+        chunk(memory, 0, count);
+    }
+
+    private void drain() throws IOException {
+        ((Buffer) this.bytes).flip();
+        while (this.bytes.hasRemaining()) {
+            this.channel.write(this.bytes);
+        }
+        ((Buffer) this.bytes).clear();
+    }
+
+    /**
+     * @return 是否已经转存
+     */
+    private boolean finish() throws IOException {
+        if (this.channel != null) {
+            try {
+                drain();
+                this.channel.close();
+            } catch (IOException e) {
+                discard();
+                throw e;
+            }
+            this.channel = null;
+            this.bytes = null;
+        }
+        return this.file != null;
+    }
+
+    private <T> T track(T owner) {
+        TEMP_FILES.add(new TempFile(owner, this.file));
+        return owner;
+    }
+
+    private static void deleteReleased() {
+        Reference<?> released;
+        while ((released = RELEASED.poll()) != null) {
+            TempFile tempFile = (TempFile) released;
+            TEMP_FILES.remove(tempFile);
+            try {
+                Files.deleteIfExists(tempFile.file);
+            } catch (IOException ignored) {
+                // 文件仍被占用时留在临时目录中，由系统清理
+            }
+        }
+    }
+
+    private static final class TempFile extends PhantomReference<Object> {
+        final Path file;
+
+        TempFile(Object owner, Path file) {
+            super(owner, RELEASED);
+            this.file = file;
+        }
+    }
+
+    /**
+     * 从临时文件中读取[index, index + count)的字符，每次最多读一页
+     * @param scratch 长度为一页的字节缓冲区
+     */
+    private static void readChars(FileChannel channel, long index, char[] dest, int offset, int count,
+                                  ByteBuffer scratch) throws IOException {
+        while (count > 0) {
+            int n = Math.min(count, PAGE_SIZE);
+            ((Buffer) scratch).clear();
+            ((Buffer) scratch).limit(n * 2);
+            long position = index * 2;
+            while (scratch.hasRemaining()) {
+                if (channel.read(scratch, position + scratch.position()) < 0) {
+                    throw new IOException("Unexpected end of spilled string");
+                }
+            }
+            ((Buffer) scratch).flip();
+            scratch.asCharBuffer().get(dest, offset, n);
+            index += n;
+            offset += n;
+            count -= n;
+        }
+    }
+
+    /**
+     * 临时文件中的一段字符，按页读取，最近一页缓存在内存中
+     */
+    private static final class FileCharSequence implements CharSequence {
+
+        private final Path file;
+        /**
+         * 由toCharSequence()创建、持有临时文件的字符序列，子序列引用它使其不被回收
+         */
+        private final FileCharSequence root;
+        private final long start;
+        private final int length;
+
+        private char[] page;
+        private long pageStart;
+
+        FileCharSequence(Path file, FileCharSequence root, long start, int length) {
+            this.file = file;
+            this.root = root == null ? this : root;
+            this.start = start;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return this.length;
+        }
+
+        @Override
+        public synchronized char charAt(int index) {
+            if (index < 0 || index >= this.length) {
+                throw new IndexOutOfBoundsException("index=" + index + ", length=" + this.length);
+            }
+            long absolute = this.start + index;
+            if (this.page == null || absolute < this.pageStart || absolute >= this.pageStart + PAGE_SIZE) {
+                long pageStart = absolute - absolute % PAGE_SIZE;
+                int count = (int) Math.min(PAGE_SIZE, this.start + this.length - pageStart);
+                if (this.page == null) {
+                    this.page = new char[PAGE_SIZE];
+                }
+                read(pageStart, this.page, 0, count);
+                this.pageStart = pageStart;
+            }
+            return this.page[(int) (absolute - this.pageStart)];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > this.length || start > end) {
+                throw new IndexOutOfBoundsException("start=" + start + ", end=" + end + ", length=" + this.length);
+            }
+            return new FileCharSequence(this.file, this.root, this.start + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            char[] chars = new char[this.length];
+            read(this.start, chars, 0, this.length);
+            return new String(chars);
+        }
+
+        private void read(long index, char[] dest, int offset, int count) {
+            try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+                readChars(channel, index, dest, offset, count, ByteBuffer.allocate(PAGE_SIZE * 2));
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to read spilled string " + this.file, e);
+            }
+        }
+    }
+
+    /**
+     * 按页读取临时文件中的一段字符
+     */
+    private static final class FileCharReader extends Reader {
+
+        private final Path file;
+        /**
+         * 读取字符序列时引用它，使临时文件在读完之前不被删除
+         */
+        private final Object owner;
+        private final boolean deleteOnClose;
+        private FileChannel channel;
+        private ByteBuffer scratch;
+        private long next;
+        private final long end;
+
+        FileCharReader(Path file, Object owner, long start, long length, boolean deleteOnClose) {
+            this.file = file;
+            this.owner = owner;
+            this.next = start;
+            this.end = start + length;
+            this.deleteOnClose = deleteOnClose;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (off < 0 || len < 0 || off + len > cbuf.length) {
+                throw new IndexOutOfBoundsException("off=" + off + ", len=" + len);
+            }
+            if (this.next >= this.end) {
+                return -1;
+            }
+            if (this.channel == null) {
+                this.channel = FileChannel.open(this.file, StandardOpenOption.READ);
+                this.scratch = ByteBuffer.allocate(PAGE_SIZE * 2);
+            }
+            int count = (int) Math.min(Math.min(len, PAGE_SIZE), this.end - this.next);
+            readChars(this.channel, this.next, cbuf, off, count, this.scratch);
+            this.next += count;
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.next = this.end;
+            try {
+                if (this.channel != null) {
+                    this.channel.close();
+                    this.channel = null;
+                }
+            } finally {
+                if (this.deleteOnClose) {
+                    Files.deleteIfExists(this.file);
+                }
+            }
+        }
+    }
+}
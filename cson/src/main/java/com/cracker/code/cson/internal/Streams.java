@@ -40,17 +40,30 @@ public final class Streams {
 
     private static final class AppendableWriter extends Writer {
         private final Appendable appendable;
+        /**
+         * appendable是StringBuilder时直接追加char[]，不经过CharSequence逐字符复制
+         */
+        private final StringBuilder builder;
         private final CurrentWrite currentWrite = new CurrentWrite();
 
         private AppendableWriter(Appendable appendable) {
             this.appendable = appendable;
+            this.builder = appendable instanceof StringBuilder ? (StringBuilder) appendable : null;
         }
 
         @Override public void write(char[] chars, int offset, int length) throws IOException {
+            if (builder != null) {
+                builder.append(chars, offset, length);
+                return;
+            }
             currentWrite.chars = chars;
             appendable.append(currentWrite, offset, offset + length);
         }
 
+        @Override public void write(String str, int offset, int length) throws IOException {
+            appendable.append(str, offset, offset + length);
+        }
+
         @Override public void write(int i) throws IOException {
             appendable.append((char) i);
         }
@@ -2,6 +2,9 @@ package com.cracker.code.cson.internal;
 
 import java.io.ObjectInputStream;
 import java.io.ObjectStreamClass;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 
@@ -33,15 +36,24 @@ public abstract class UnsafeAllocator {
             Field f = unsafeClass.getDeclaredField("theUnsafe");
             f.setAccessible(true);
             Object unsafe = f.get(null);
-            Method allocateInstance = unsafeClass.getMethod("allocateInstance", Class.class);
+            // 绑定到unsafe实例的MethodHandle，调用时不经过Method.invoke的参数检查和装箱
+            final MethodHandle allocateInstance = MethodHandles.publicLookup()
+                    .findVirtual(unsafeClass, "allocateInstance", MethodType.methodType(Object.class, Class.class))
+                    .bindTo(unsafe);
             return new UnsafeAllocator() {
                 @Override
                 @SuppressWarnings("unchecked")
                 public <T> T newInstance(Class<T> c) throws Exception {
-                    return (T) allocateInstance.invoke(unsafe, c);
+                    try {
+                        return (T) (Object) allocateInstance.invokeExact((Class<?>) c);
+                    } catch (Exception | Error e) {
+                        throw e;
+                    } catch (Throwable e) {
+                        throw new RuntimeException("Failed to allocate " + c, e);
+                    }
                 }
             };
-        } catch (Exception ignored) {
+        } catch (Exception | LinkageError ignored) {
         }
 
 
@@ -0,0 +1,225 @@
+package com.cracker.code.cson.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ *
+ * Utf8Writer：直接把字符编码为UTF-8字节的Writer
+ *
+ * 与OutputStreamWriter相比，不经过CharsetEncoder，也不加锁。ASCII字符走一个紧凑的拷贝循环，
+ * 其余字符手工编码。不成对的代理项按String.getBytes的方式替换为'?'。
+ *
+ * 字节先写入内部的byte[]：指定了OutputStream或ByteBuffer时写满后交给它，否则byte[]按需扩容，
+ * 最后通过{@link #toByteArray()}取出
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+public final class Utf8Writer extends Writer {
+
+    private final OutputStream out;
+    private final ByteBuffer target;
+    private byte[] bytes;
+    private int count;
+
+    /**
+     * 上一次write以高位代理项结束，等待下一次write的低位代理项
+     */
+    private int pendingHighSurrogate = -1;
+
+    /**
+     * write(String)时先把字符复制到这里，再按char[]编码
+     */
+    private char[] chars;
+
+    /**
+     * 编码到可扩容的byte[]中
+     */
+    public Utf8Writer() {
+        this.out = null;
+        this.target = null;
+        this.bytes = new byte[256];
+    }
+
+    public Utf8Writer(OutputStream out) {
+        this.out = CsonPreconditions.checkNotNull(out);
+        this.target = null;
+        this.bytes = new byte[8192];
+    }
+
+    /**
+     * 从target的position开始写入，空间不足时抛出{@link java.nio.BufferOverflowException}
+     * @param target 堆上或堆外的ByteBuffer
+     */
+    public Utf8Writer(ByteBuffer target) {
+        this.out = null;
+        this.target = CsonPreconditions.checkNotNull(target);
+        this.bytes = new byte[8192];
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+        int i = offset;
+        int end = offset + length;
+        while (i < end) {
+            if (bytes.length - count < 4) {
+                makeRoom();
+            }
+            if (pendingHighSurrogate != -1) {
+                char c = chars[i];
+                if (Character.isLowSurrogate(c)) {
+                    writeCodePoint(Character.toCodePoint((char) pendingHighSurrogate, c));
+                    i++;
+                } else {
+                    bytes[count++] = '?';
+                }
+                pendingHighSurrogate = -1;
+                continue;
+            }
+
+            // ASCII快速路径
+            byte[] bytes = this.bytes;
+            int c = count;
+            int stop = Math.min(end, i + bytes.length - c);
+            char ch = 0;
+            while (i < stop && (ch = chars[i]) < 0x80) {
+                bytes[c++] = (byte) ch;
+                i++;
+            }
+            count = c;
+            if (i == stop) {
+                continue;
+            }
+            if (bytes.length - c < 4) {
+                makeRoom();
+                bytes = this.bytes;
+                c = count;
+            }
+
+            i++;
+            if (ch < 0x800) {
+                bytes[c++] = (byte) (0xc0 | (ch >> 6));
+                bytes[c++] = (byte) (0x80 | (ch & 0x3f));
+                count = c;
+            } else if (Character.isHighSurrogate(ch)) {
+                if (i == end) {
+                    pendingHighSurrogate = ch;
+                } else if (Character.isLowSurrogate(chars[i])) {
+                    writeCodePoint(Character.toCodePoint(ch, chars[i]));
+                    i++;
+                } else {
+                    bytes[count++] = '?';
+                }
+            } else if (Character.isLowSurrogate(ch)) {
+                bytes[count++] = '?';
+            } else {
+                bytes[c++] = (byte) (0xe0 | (ch >> 12));
+                bytes[c++] = (byte) (0x80 | ((ch >> 6) & 0x3f));
+                bytes[c++] = (byte) (0x80 | (ch & 0x3f));
+                count = c;
+            }
+        }
+    }
+
+    private void writeCodePoint(int codePoint) {
+        byte[] bytes = this.bytes;
+        int c = count;
+        bytes[c++] = (byte) (0xf0 | (codePoint >> 18));
+        bytes[c++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+        bytes[c++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+        bytes[c++] = (byte) (0x80 | (codePoint & 0x3f));
+        count = c;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        if (c < 0x80 && pendingHighSurrogate == -1) {
+            if (count == bytes.length) {
+                makeRoom();
+            }
+            bytes[count++] = (byte) c;
+            return;
+        }
+        write(new char[] {(char) c}, 0, 1);
+    }
+
+    @Override
+    public void write(String str, int offset, int length) throws IOException {
+        char[] chars = this.chars;
+        if (chars == null) {
+            chars = this.chars = new char[1024];
+        }
+        while (length > 0) {
+            int n = Math.min(length, chars.length);
+            str.getChars(offset, offset + n, chars, 0);
+            write(chars, 0, n);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * 有OutputStream或ByteBuffer时把已编码的字节交给它，否则扩容
+     */
+    private void makeRoom() throws IOException {
+        if (out != null) {
+            out.write(bytes, 0, count);
+            count = 0;
+        } else if (target != null) {
+            target.put(bytes, 0, count);
+            count = 0;
+        } else {
+            bytes = Arrays.copyOf(bytes, bytes.length * 2);
+        }
+    }
+
+    /**
+     * @return 目前为止编码的全部字节，只在没有指定OutputStream、ByteBuffer时有意义
+     */
+    public byte[] toByteArray() {
+        int length = count;
+        if (pendingHighSurrogate != -1) {
+            byte[] result = Arrays.copyOf(bytes, length + 1);
+            result[length] = '?';
+            return result;
+        }
+        return Arrays.copyOf(bytes, length);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (out != null) {
+            out.write(bytes, 0, count);
+            count = 0;
+            out.flush();
+        } else if (target != null) {
+            target.put(bytes, 0, count);
+            count = 0;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (pendingHighSurrogate != -1) {
+            pendingHighSurrogate = -1;
+            if (count == bytes.length) {
+                makeRoom();
+            }
+            bytes[count++] = '?';
+        }
+        if (out != null) {
+            flush();
+            out.close();
+        } else if (target != null) {
+            flush();
+        }
+    }
+}
@@ -21,6 +21,7 @@ import java.util.List;
 /**
  *
  * 适配器ArrayTypeAdapter
+ * 基本类型数组默认使用{@link PrimitiveArrayTypeAdapters}
  * @author lizhg<2486479615@qq.com>
  * <br/>=================================
  * <br/>公司：myself
@@ -43,7 +44,12 @@ public final class ArrayTypeAdapter<E> extends TypeAdapter<Object> {
 
             Type componentType = CsonTypes.getArrayComponentType(type);
             TypeAdapter<?> componentTypeAdapter = cson.getAdapter(TypeToken.get(componentType));
-            return new ArrayTypeAdapter(cson, componentTypeAdapter, CsonTypes.getRawType(componentType));
+            Class<?> rawComponentType = CsonTypes.getRawType(componentType);
+            TypeAdapter<?> primitiveArrayAdapter = PrimitiveArrayTypeAdapters.get(rawComponentType, componentTypeAdapter);
+            if (primitiveArrayAdapter != null) {
+                return (TypeAdapter<T>) primitiveArrayAdapter;
+            }
+            return new ArrayTypeAdapter(cson, componentTypeAdapter, rawComponentType);
         }
     };
 
@@ -52,7 +58,7 @@ public final class ArrayTypeAdapter<E> extends TypeAdapter<Object> {
 
     public ArrayTypeAdapter(Cson context, TypeAdapter<E> componentTypeAdapter, Class<E> componentType) {
         this.componentTypeAdapter =
-                new TypeAdapterRuntimeTypeWrapper<E>(context, componentTypeAdapter, componentType);
+                TypeAdapterRuntimeTypeWrapper.create(context, componentTypeAdapter, componentType);
         this.componentType = componentType;
     }
 
@@ -71,6 +77,10 @@ public final class ArrayTypeAdapter<E> extends TypeAdapter<Object> {
         }
         in.endArray();
         Object array = Array.newInstance(this.componentType, list.size());
+        if (!this.componentType.isPrimitive()) {
+            // 引用类型的数组一次整体拷贝
+            return list.toArray((Object[]) array);
+        }
         for (int i = 0; i < list.size(); i++) {
             Array.set(array, i, list.get(i));
         }
@@ -86,6 +96,14 @@ public final class ArrayTypeAdapter<E> extends TypeAdapter<Object> {
         }
 
         out.beginArray();
+        if (array instanceof Object[]) {
+            for (Object value : (Object[]) array) {
+                this.componentTypeAdapter.write(out, (E) value);
+            }
+            out.endArray();
+            return;
+        }
+        // 基本类型元素使用了自定义的TypeAdapter，逐个装箱
         for (int i = 0, length = Array.getLength(array); i < length; i++) {
             E value = (E) Array.get(array, i);
             this.componentTypeAdapter.write(out, value);
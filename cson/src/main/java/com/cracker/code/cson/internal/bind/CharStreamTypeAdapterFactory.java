@@ -0,0 +1,129 @@
+package com.cracker.code.cson.internal.bind;
+
+import com.cracker.code.cson.Cson;
+import com.cracker.code.cson.JsonSyntaxException;
+import com.cracker.code.cson.TypeAdapter;
+import com.cracker.code.cson.TypeAdapterFactory;
+import com.cracker.code.cson.internal.SpillingCharBuffer;
+import com.cracker.code.cson.reflect.TypeToken;
+import com.cracker.code.cson.stream.JsonReader;
+import com.cracker.code.cson.stream.JsonToken;
+import com.cracker.code.cson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ *
+ * 针对Reader和CharSequence的适配器: CharStreamTypeAdapterFactory
+ *
+ * 读取时字符串值分块交给{@link SpillingCharBuffer}，超过阈值的部分转存到临时文件，内存占用有上限。
+ * Reader属性读完后应当关闭，以删除临时文件；写出时从Reader读取剩余的字符边读边转义，不关闭Reader。
+ * <p><b>写出会消费Reader：</b>同一个对象第二次toJson时，Reader已经读到末尾，写出的是{@code ""}。
+ * 需要多次序列化的值应声明为CharSequence，它每次写出都从头读取。
+ * Reader的子类只能写出，读取时属性必须声明为Reader。
+ * CharSequence属性不超过阈值时就是String
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+public final class CharStreamTypeAdapterFactory implements TypeAdapterFactory {
+
+    /**
+     * 一个字符串值在内存中最多保留的字符数
+     */
+    private final int spillThreshold;
+
+    public CharStreamTypeAdapterFactory(int spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Cson cson, TypeToken<T> typeToken) {
+        Class<? super T> rawType = typeToken.getRawType();
+        if (Reader.class.isAssignableFrom(rawType)) {
+            // 子类也要匹配，否则写出时按实际类型查到的是反射的适配器
+            return (TypeAdapter<T>) new ReaderAdapter(rawType);
+        }
+        if (rawType == CharSequence.class) {
+            return (TypeAdapter<T>) new CharSequenceAdapter();
+        }
+        return null;
+    }
+
+    /**
+     * @return json为null时返回null
+     */
+    private SpillingCharBuffer readString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        SpillingCharBuffer buffer = new SpillingCharBuffer(this.spillThreshold);
+        try {
+            in.nextString(buffer);
+        } catch (IOException | RuntimeException e) {
+            // 转存之后失败的话，临时文件还没有登记清理
+            buffer.discard();
+            throw e;
+        }
+        return buffer;
+    }
+
+    private final class ReaderAdapter extends TypeAdapter<Reader> {
+        private final Class<?> rawType;
+
+        ReaderAdapter(Class<?> rawType) {
+            this.rawType = rawType;
+        }
+
+        @Override
+        public Reader read(JsonReader in) throws IOException {
+            if (this.rawType != Reader.class) {
+                throw new JsonSyntaxException("Cannot read a string into " + this.rawType.getName()
+                        + ", declare it as java.io.Reader at " + in.getPath());
+            }
+            SpillingCharBuffer buffer = readString(in);
+            return buffer == null ? null : buffer.toReader();
+        }
+
+        /**
+         * 读取value中剩余的字符，写完后value位于末尾
+         */
+        @Override
+        public void write(JsonWriter out, Reader value) throws IOException {
+            out.value(value);
+        }
+    }
+
+    private final class CharSequenceAdapter extends TypeAdapter<CharSequence> {
+        @Override
+        public CharSequence read(JsonReader in) throws IOException {
+            SpillingCharBuffer buffer = readString(in);
+            return buffer == null ? null : buffer.toCharSequence();
+        }
+
+        @Override
+        public void write(JsonWriter out, CharSequence value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            Reader spilled = SpillingCharBuffer.openReader(value);
+            if (spilled == null) {
+                out.value(value.toString());
+                return;
+            }
+            try {
+                out.value(spilled);
+            } finally {
+                spilled.close();
+            }
+        }
+    }
+}
@@ -60,7 +60,7 @@ public final class CollectionTypeAdapterFactory implements TypeAdapterFactory {
         public Adapter(Cson context, Type elementType,
                        TypeAdapter<E> elementTypeAdapter,
                        ObjectConstructor<? extends Collection<E>> constructor) {
-            this.elementTypeAdapter = new TypeAdapterRuntimeTypeWrapper<E>(context, elementTypeAdapter, elementType);
+            this.elementTypeAdapter = TypeAdapterRuntimeTypeWrapper.create(context, elementTypeAdapter, elementType);
             this.constructor = constructor;
         }
 
@@ -73,13 +73,39 @@ public final class CollectionTypeAdapterFactory implements TypeAdapterFactory {
             }
 
             Collection<E> collection = constructor.construct();
+            this.readElements(in, collection);
+            return collection;
+        }
+
+        /**
+         * 清空target后重新填充，元素本身不复用
+         */
+        @Override
+        public Collection<E> readInto(JsonReader in, Collection<E> target) throws IOException {
+            if (target == null) {
+                return this.read(in);
+            }
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            try {
+                target.clear();
+            } catch (UnsupportedOperationException e) {
+                // 不可修改的集合
+                return this.read(in);
+            }
+            this.readElements(in, target);
+            return target;
+        }
+
+        private void readElements(JsonReader in, Collection<E> collection) throws IOException {
             in.beginArray();
             while (in.hasNext()) {
                 E instance = elementTypeAdapter.read(in);
                 collection.add(instance);
             }
             in.endArray();
-            return collection;
         }
 
         @Override
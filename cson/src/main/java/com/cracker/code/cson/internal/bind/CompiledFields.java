@@ -0,0 +1,126 @@
+package com.cracker.code.cson.internal.bind;
+
+import com.cracker.code.cson.JsonSyntaxException;
+import com.cracker.code.cson.stream.JsonEncodedName;
+import com.cracker.code.cson.stream.JsonReader;
+import com.cracker.code.cson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ *
+ * CompiledFields：运行时生成的属性读写代码的父类
+ *
+ * 子类由{@link FieldsClassGenerator}针对某个类生成：writeFields按顺序逐个属性展开，
+ * readField用tableswitch按属性下标分派。属性按内存偏移量通过Unsafe读写，偏移量是代码里的常量，
+ * int属性不装箱。Unsafe实例存放在生成类自己的private static属性中，由生成器在定义类之后设置，
+ * 这里不向子类暴露。生成的类由单独的ClassLoader加载，只能访问这里public、protected的成员
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+public abstract class CompiledFields {
+
+    /**
+     * 与fields一一对应
+     */
+    protected JsonEncodedName[] names;
+    private ReflectiveTypeAdapterFactory.BoundField[] fields;
+    private Class<?> rawType;
+
+    protected CompiledFields() {
+    }
+
+    final void bind(Class<?> rawType, ReflectiveTypeAdapterFactory.BoundField[] fields) {
+        this.rawType = rawType;
+        this.fields = fields;
+        this.names = new JsonEncodedName[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            this.names[i] = fields[i].encodedName;
+        }
+    }
+
+    /**
+     * 写出src的全部属性，不包括外层的{}
+     */
+    final void write(JsonWriter out, Object src) throws IOException {
+        // 生成的代码不检查src，传错对象会破坏内存
+        this.writeFields(out, this.rawType.cast(src));
+    }
+
+    /**
+     * 读取下标为index的属性值并设置到instance
+     */
+    final void read(JsonReader in, Object instance, int index) throws IOException {
+        this.readField(in, this.rawType.cast(instance), index);
+    }
+
+    /**
+     * 由生成的代码实现
+     * @param out JsonWriter
+     * @param src 已经检查过类型的对象
+     * @throws IOException IOException
+     */
+    protected abstract void writeFields(JsonWriter out, Object src) throws IOException;
+
+    /**
+     * 由生成的代码实现
+     * @param in JsonReader
+     * @param instance 已经检查过类型的对象
+     * @param index 属性下标
+     * @throws IOException IOException
+     */
+    protected abstract void readField(JsonReader in, Object instance, int index) throws IOException;
+
+    /**
+     * 写出已经读出的引用类型属性值，属性名已经写出
+     */
+    protected final void writeValue(JsonWriter out, int index, Object value) throws IOException {
+        this.fields[index].write(out, value);
+    }
+
+    /**
+     * 没有展开的属性：通过BoundField读取、判断并写出
+     */
+    protected final void writeBoundField(JsonWriter out, int index, Object src) throws IOException {
+        try {
+            this.fields[index].serialize(out, src);
+        } catch (IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * 读取引用类型属性的值，类型与属性一致
+     */
+    protected final Object readValue(JsonReader in, int index) throws IOException {
+        ReflectiveTypeAdapterFactory.BoundField field = this.fields[index];
+        return field.field.getType().cast(field.typeAdapter.read(in));
+    }
+
+    /**
+     * 没有展开的属性：通过BoundField读取并设置
+     */
+    protected final void readBoundField(JsonReader in, int index, Object instance) throws IOException {
+        try {
+            this.fields[index].read(in, instance);
+        } catch (IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * 与TypeAdapters.INTEGER一致，数字格式不对时抛出JsonSyntaxException
+     */
+    protected static int nextInt(JsonReader in) throws IOException {
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+}
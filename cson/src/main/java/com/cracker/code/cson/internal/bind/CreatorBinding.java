@@ -0,0 +1,268 @@
+package com.cracker.code.cson.internal.bind;
+
+import com.cracker.code.cson.annotations.CsonCreator;
+import com.cracker.code.cson.internal.Primitives;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+
+/**
+ *
+ * CreatorBinding：通过构造方法或静态工厂方法创建对象
+ *
+ * 使用{@link CsonCreator}标注的方法，或者record的规范构造方法。读取时属性值按BoundField的下标存放在临时数组里，
+ * 读完后按参数顺序取出，通过MethodHandle调用一次。record在jdk16+才有，这里通过反射判断，不依赖新版本的api
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+final class CreatorBinding {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * Class.isRecord、Class.getRecordComponents、RecordComponent.getName、RecordComponent.getType，jdk16以下为null
+     */
+    private static final Method IS_RECORD;
+    private static final Method GET_RECORD_COMPONENTS;
+    private static final Method COMPONENT_NAME;
+    private static final Method COMPONENT_TYPE;
+
+    static {
+        Method isRecord = null;
+        Method getRecordComponents = null;
+        Method componentName = null;
+        Method componentType = null;
+        try {
+            isRecord = Class.class.getMethod("isRecord");
+            getRecordComponents = Class.class.getMethod("getRecordComponents");
+            Class<?> recordComponent = Class.forName("java.lang.reflect.RecordComponent");
+            componentName = recordComponent.getMethod("getName");
+            componentType = recordComponent.getMethod("getType");
+        } catch (ReflectiveOperationException ignored) {
+            isRecord = null;
+        }
+        IS_RECORD = isRecord;
+        GET_RECORD_COMPONENTS = getRecordComponents;
+        COMPONENT_NAME = componentName;
+        COMPONENT_TYPE = componentType;
+    }
+
+    private final Executable executable;
+    /**
+     * (Object[])Object
+     */
+    private final MethodHandle handle;
+    /**
+     * 每个参数对应的BoundField下标
+     */
+    private final int[] parameterSlots;
+    /**
+     * 每个参数在json中缺失或为null时的值，基本类型为0、false
+     */
+    private final Object[] defaults;
+    /**
+     * 按BoundField下标：是否是构造参数
+     */
+    private final boolean[] parameters;
+
+    private CreatorBinding(Executable executable, MethodHandle handle, int[] parameterSlots,
+                           Object[] defaults, int fieldCount) {
+        this.executable = executable;
+        this.handle = handle;
+        this.parameterSlots = parameterSlots;
+        this.defaults = defaults;
+        this.parameters = new boolean[fieldCount];
+        for (int slot : parameterSlots) {
+            this.parameters[slot] = true;
+        }
+    }
+
+    /**
+     * @param raw 类型
+     * @param fields 该类型的全部BoundField
+     * @return 没有标注CsonCreator也不是record时返回null
+     */
+    static CreatorBinding create(Class<?> raw, ReflectiveTypeAdapterFactory.BoundField[] fields) {
+        Executable executable = findAnnotated(raw);
+        String[] names;
+        if (executable != null) {
+            names = parameterNames(executable, fields);
+        } else if (isRecord(raw)) {
+            Object[] components = recordComponents(raw);
+            Class<?>[] types = new Class<?>[components.length];
+            names = new String[components.length];
+            try {
+                for (int i = 0; i < components.length; i++) {
+                    names[i] = javaFieldName(fields, (String) COMPONENT_NAME.invoke(components[i]));
+                    types[i] = (Class<?>) COMPONENT_TYPE.invoke(components[i]);
+                }
+                executable = raw.getDeclaredConstructor(types);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Unable to find canonical constructor of " + raw.getName(), e);
+            }
+        } else {
+            return null;
+        }
+
+        Class<?>[] parameterTypes = executable.getParameterTypes();
+        int[] slots = new int[names.length];
+        Object[] defaults = new Object[names.length];
+        for (int i = 0; i < names.length; i++) {
+            slots[i] = slotOf(fields, names[i], executable);
+            Class<?> fieldType = fields[slots[i]].field.getType();
+            if (!Primitives.wrap(parameterTypes[i]).isAssignableFrom(Primitives.wrap(fieldType))) {
+                throw new IllegalArgumentException("Parameter " + i + " of " + executable + " is "
+                        + parameterTypes[i].getName() + " but JSON field " + names[i] + " is " + fieldType.getName());
+            }
+            if (parameterTypes[i].isPrimitive()) {
+                // 取长度为1的基本类型数组的元素，得到该类型的默认值
+                defaults[i] = Array.get(Array.newInstance(parameterTypes[i], 1), 0);
+            }
+        }
+        return new CreatorBinding(executable, handleOf(executable), slots, defaults, fields.length);
+    }
+
+    /**
+     * @param index BoundField下标
+     * @return 该属性是否由构造方法设置
+     */
+    boolean isParameter(int index) {
+        return this.parameters[index];
+    }
+
+    /**
+     * @param slots 按BoundField下标存放的属性值，没有读到的为null
+     * @return 新创建的对象
+     */
+    Object newInstance(Object[] slots) {
+        Object[] args = new Object[this.parameterSlots.length];
+        for (int i = 0; i < args.length; i++) {
+            Object value = slots[this.parameterSlots[i]];
+            args[i] = value == null ? this.defaults[i] : value;
+        }
+        try {
+            return (Object) this.handle.invokeExact(args);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to invoke " + this.executable, e);
+        }
+    }
+
+    private static Executable findAnnotated(Class<?> raw) {
+        Executable found = null;
+        for (Constructor<?> constructor : raw.getDeclaredConstructors()) {
+            if (constructor.isAnnotationPresent(CsonCreator.class)) {
+                found = checkUnique(raw, found, constructor);
+            }
+        }
+        for (Method method : raw.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(CsonCreator.class)) {
+                if (!Modifier.isStatic(method.getModifiers()) || !raw.isAssignableFrom(method.getReturnType())) {
+                    throw new IllegalArgumentException("@CsonCreator method " + method
+                            + " must be static and return " + raw.getName());
+                }
+                found = checkUnique(raw, found, method);
+            }
+        }
+        return found;
+    }
+
+    private static Executable checkUnique(Class<?> raw, Executable found, Executable candidate) {
+        if (found != null) {
+            throw new IllegalArgumentException(raw.getName() + " declares multiple @CsonCreator: "
+                    + found + " and " + candidate);
+        }
+        return candidate;
+    }
+
+    /**
+     * @return 每个参数对应的json属性名
+     */
+    private static String[] parameterNames(Executable executable, ReflectiveTypeAdapterFactory.BoundField[] fields) {
+        String[] names = executable.getAnnotation(CsonCreator.class).value();
+        if (names.length > 0) {
+            if (names.length != executable.getParameterCount()) {
+                throw new IllegalArgumentException("@CsonCreator of " + executable + " lists " + names.length
+                        + " names for " + executable.getParameterCount() + " parameters");
+            }
+            return names;
+        }
+        Parameter[] parameters = executable.getParameters();
+        names = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            if (!parameters[i].isNamePresent()) {
+                throw new IllegalArgumentException("Parameter names of " + executable + " are not available, "
+                        + "list the JSON field names in @CsonCreator or compile with -parameters");
+            }
+            names[i] = javaFieldName(fields, parameters[i].getName());
+        }
+        return names;
+    }
+
+    /**
+     * 参数名、record组件名是Java属性名，转换为json属性名
+     */
+    private static String javaFieldName(ReflectiveTypeAdapterFactory.BoundField[] fields, String fieldName) {
+        for (ReflectiveTypeAdapterFactory.BoundField field : fields) {
+            if (field.field.getName().equals(fieldName)) {
+                return field.name;
+            }
+        }
+        return fieldName;
+    }
+
+    private static int slotOf(ReflectiveTypeAdapterFactory.BoundField[] fields, String name, Executable executable) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].name.equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(executable + " has no JSON field named " + name);
+    }
+
+    private static MethodHandle handleOf(Executable executable) {
+        try {
+            executable.setAccessible(true);
+            MethodHandle handle = executable instanceof Constructor
+                    ? LOOKUP.unreflectConstructor((Constructor<?>) executable)
+                    : LOOKUP.unreflect((Method) executable);
+            int count = executable.getParameterCount();
+            return handle.asSpreader(Object[].class, count)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException("Unable to access " + executable, e);
+        }
+    }
+
+    private static boolean isRecord(Class<?> raw) {
+        if (IS_RECORD == null) {
+            return false;
+        }
+        try {
+            return (Boolean) IS_RECORD.invoke(raw);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    private static Object[] recordComponents(Class<?> raw) {
+        try {
+            return (Object[]) GET_RECORD_COMPONENTS.invoke(raw);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Unable to read record components of " + raw.getName(), e);
+        }
+    }
+}
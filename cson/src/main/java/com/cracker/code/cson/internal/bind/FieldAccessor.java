@@ -0,0 +1,626 @@
+package com.cracker.code.cson.internal.bind;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ *
+ * FieldAccessor：属性的读写器
+ *
+ * 实例属性优先按内存偏移量通过Unsafe读写：getObject/putObject等是JIT的内建方法，
+ * 不做Field.get/set那样的逐次访问检查和参数校验。Unsafe和基线UnsafeAllocator一样通过反射取得，
+ * 各个方法绑定为static final的MethodHandle，JIT把它们当作常量内联到内建方法，源码中不引用sun.misc。
+ * volatile的引用属性使用getObjectVolatile/putObjectVolatile；静态属性、volatile的基本类型属性，
+ * 以及取不到Unsafe或偏移量的情况(例如record)退回到Field.get/set。
+ * 基本类型属性另有getLong/getDouble/getBoolean等方法，读写时不装箱
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+abstract class FieldAccessor {
+
+    /**
+     * sun.misc.Unsafe的实例，取不到时为null
+     */
+    static final Object UNSAFE = theUnsafe();
+
+    private static final MethodHandle OBJECT_FIELD_OFFSET = unsafeMethod("objectFieldOffset", long.class, Field.class);
+
+    private static final MethodHandle GET_OBJECT = getter("getObject", Object.class);
+    private static final MethodHandle PUT_OBJECT = putter("putObject", Object.class);
+    private static final MethodHandle GET_OBJECT_VOLATILE = getter("getObjectVolatile", Object.class);
+    private static final MethodHandle PUT_OBJECT_VOLATILE = putter("putObjectVolatile", Object.class);
+    private static final MethodHandle GET_INT = getter("getInt", int.class);
+    private static final MethodHandle PUT_INT = putter("putInt", int.class);
+    private static final MethodHandle GET_LONG = getter("getLong", long.class);
+    private static final MethodHandle PUT_LONG = putter("putLong", long.class);
+    private static final MethodHandle GET_SHORT = getter("getShort", short.class);
+    private static final MethodHandle PUT_SHORT = putter("putShort", short.class);
+    private static final MethodHandle GET_BYTE = getter("getByte", byte.class);
+    private static final MethodHandle PUT_BYTE = putter("putByte", byte.class);
+    private static final MethodHandle GET_CHAR = getter("getChar", char.class);
+    private static final MethodHandle PUT_CHAR = putter("putChar", char.class);
+    private static final MethodHandle GET_DOUBLE = getter("getDouble", double.class);
+    private static final MethodHandle PUT_DOUBLE = putter("putDouble", double.class);
+    private static final MethodHandle GET_FLOAT = getter("getFloat", float.class);
+    private static final MethodHandle PUT_FLOAT = putter("putFloat", float.class);
+    private static final MethodHandle GET_BOOLEAN = getter("getBoolean", boolean.class);
+    private static final MethodHandle PUT_BOOLEAN = putter("putBoolean", boolean.class);
+
+    /**
+     * 所有方法都找到时才使用Unsafe
+     */
+    static final boolean UNSAFE_AVAILABLE = OBJECT_FIELD_OFFSET != null && PUT_BOOLEAN != null
+            && GET_OBJECT != null && PUT_OBJECT != null && GET_OBJECT_VOLATILE != null && PUT_OBJECT_VOLATILE != null
+            && GET_INT != null && PUT_INT != null && GET_LONG != null && PUT_LONG != null
+            && GET_SHORT != null && PUT_SHORT != null && GET_BYTE != null && PUT_BYTE != null
+            && GET_CHAR != null && PUT_CHAR != null && GET_DOUBLE != null && PUT_DOUBLE != null
+            && GET_FLOAT != null && PUT_FLOAT != null && GET_BOOLEAN != null;
+
+    private static Object theUnsafe() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field f = unsafeClass.getDeclaredField("theUnsafe");
+            f.setAccessible(true);
+            return f.get(null);
+        } catch (Exception | LinkageError ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * @return 绑定到UNSAFE的方法，找不到时返回null
+     */
+    private static MethodHandle unsafeMethod(String name, Class<?> returnType, Class<?>... parameterTypes) {
+        if (UNSAFE == null) {
+            return null;
+        }
+        try {
+            return MethodHandles.publicLookup().findVirtual(UNSAFE.getClass(), name,
+                    MethodType.methodType(returnType, parameterTypes)).bindTo(UNSAFE);
+        } catch (ReflectiveOperationException | RuntimeException ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * type getXxx(Object o, long offset)
+     */
+    private static MethodHandle getter(String name, Class<?> type) {
+        return unsafeMethod(name, type, Object.class, long.class);
+    }
+
+    /**
+     * void putXxx(Object o, long offset, type x)
+     */
+    private static MethodHandle putter(String name, Class<?> type) {
+        return unsafeMethod(name, void.class, Object.class, long.class, type);
+    }
+
+    /**
+     * @return 实例属性的内存偏移量
+     * @throws RuntimeException 取不到Unsafe，或者该属性不支持(例如record、隐藏类)
+     */
+    static long objectFieldOffset(Field field) {
+        if (!UNSAFE_AVAILABLE) {
+            throw new UnsupportedOperationException("sun.misc.Unsafe is not available");
+        }
+        try {
+            return (long) OBJECT_FIELD_OFFSET.invokeExact(field);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    /**
+     * Unsafe的读写方法不会抛出受检异常
+     */
+    private static RuntimeException propagate(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new UndeclaredThrowableException(e);
+    }
+
+    private static Object unsafeGetObject(Object o, long offset) {
+        try {
+            return (Object) GET_OBJECT.invokeExact(o, offset);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    private static void unsafePutObject(Object o, long offset, Object x) {
+        try {
+            PUT_OBJECT.invokeExact(o, offset, x);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    private static Object unsafeGetObjectVolatile(Object o, long offset) {
+        try {
+            return (Object) GET_OBJECT_VOLATILE.invokeExact(o, offset);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    private static void unsafePutObjectVolatile(Object o, long offset, Object x) {
+        try {
+            PUT_OBJECT_VOLATILE.invokeExact(o, offset, x);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    private static int unsafeGetInt(Object o, long offset) {
+        try {
+            return (int) GET_INT.invokeExact(o, offset);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    private static void unsafePutInt(Object o, long offset, int x) {
+        try {
+            PUT_INT.invokeExact(o, offset, x);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    private static long unsafeGetLong(Object o, long offset) {
+        try {
+            return (long) GET_LONG.invokeExact(o, offset);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    private static void unsafePutLong(Object o, long offset, long x) {
+        try {
+            PUT_LONG.invokeExact(o, offset, x);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    private static short unsafeGetShort(Object o, long offset) {
+        try {
+            return (short) GET_SHORT.invokeExact(o, offset);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    private static void unsafePutShort(Object o, long offset, short x) {
+        try {
+            PUT_SHORT.invokeExact(o, offset, x);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    private static byte unsafeGetByte(Object o, long offset) {
+        try {
+            return (byte) GET_BYTE.invokeExact(o, offset);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    private static void unsafePutByte(Object o, long offset, byte x) {
+        try {
+            PUT_BYTE.invokeExact(o, offset, x);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    private static char unsafeGetChar(Object o, long offset) {
+        try {
+            return (char) GET_CHAR.invokeExact(o, offset);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    private static void unsafePutChar(Object o, long offset, char x) {
+        try {
+            PUT_CHAR.invokeExact(o, offset, x);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    private static double unsafeGetDouble(Object o, long offset) {
+        try {
+            return (double) GET_DOUBLE.invokeExact(o, offset);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    private static void unsafePutDouble(Object o, long offset, double x) {
+        try {
+            PUT_DOUBLE.invokeExact(o, offset, x);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    private static float unsafeGetFloat(Object o, long offset) {
+        try {
+            return (float) GET_FLOAT.invokeExact(o, offset);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    private static void unsafePutFloat(Object o, long offset, float x) {
+        try {
+            PUT_FLOAT.invokeExact(o, offset, x);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    private static boolean unsafeGetBoolean(Object o, long offset) {
+        try {
+            return (boolean) GET_BOOLEAN.invokeExact(o, offset);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    private static void unsafePutBoolean(Object o, long offset, boolean x) {
+        try {
+            PUT_BOOLEAN.invokeExact(o, offset, x);
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    /**
+     * 读取src中该属性的值，基本类型会被装箱
+     * @param src Object
+     * @return 属性值
+     * @throws IllegalAccessException IllegalAccessException
+     */
+    abstract Object get(Object src) throws IllegalAccessException;
+
+    /**
+     * 设置src中该属性的值，基本类型会被拆箱
+     * @param src Object
+     * @param value 属性值
+     * @throws IllegalAccessException IllegalAccessException
+     */
+    abstract void set(Object src, Object value) throws IllegalAccessException;
+
+    /**
+     * 读取byte、short、int、long、char属性的值
+     */
+    abstract long getLong(Object src) throws IllegalAccessException;
+
+    /**
+     * 设置byte、short、int、long、char属性的值，按属性类型截断
+     */
+    abstract void setLong(Object src, long value) throws IllegalAccessException;
+
+    /**
+     * 读取float、double属性的值
+     */
+    abstract double getDouble(Object src) throws IllegalAccessException;
+
+    /**
+     * 设置float、double属性的值
+     */
+    abstract void setDouble(Object src, double value) throws IllegalAccessException;
+
+    abstract boolean getBoolean(Object src) throws IllegalAccessException;
+
+    abstract void setBoolean(Object src, boolean value) throws IllegalAccessException;
+
+    /**
+     * @param field 已经setAccessible(true)的属性
+     * @return FieldAccessor
+     */
+    static FieldAccessor create(Field field) {
+        int modifiers = field.getModifiers();
+        boolean primitive = field.getType().isPrimitive();
+        // volatile的基本类型属性交给Field，保证读写的可见性
+        if (UNSAFE_AVAILABLE && !Modifier.isStatic(modifiers) && !(primitive && Modifier.isVolatile(modifiers))) {
+            try {
+                long offset = objectFieldOffset(field);
+                return primitive ? new UnsafePrimitiveAccessor(field, offset)
+                        : new UnsafeAccessor(field, offset, Modifier.isVolatile(modifiers));
+            } catch (RuntimeException ignored) {
+                // record、隐藏类的属性不支持objectFieldOffset
+            }
+        }
+        return new ReflectiveAccessor(field);
+    }
+
+    /**
+     * Unsafe不检查src，传错对象会破坏内存，这里的检查与Field.get/set一致
+     */
+    private static Object check(Class<?> declaringClass, Object src) {
+        if (!declaringClass.isInstance(src)) {
+            throw new IllegalArgumentException("Can not access field of " + declaringClass.getName()
+                    + " on " + (src == null ? "null" : src.getClass().getName()));
+        }
+        return src;
+    }
+
+    private static final class UnsafeAccessor extends FieldAccessor {
+        private final Class<?> declaringClass;
+        private final Class<?> type;
+        private final long offset;
+        private final boolean isVolatile;
+
+        UnsafeAccessor(Field field, long offset, boolean isVolatile) {
+            this.declaringClass = field.getDeclaringClass();
+            this.type = field.getType();
+            this.offset = offset;
+            this.isVolatile = isVolatile;
+        }
+
+        @Override
+        Object get(Object src) {
+            Object o = check(this.declaringClass, src);
+            return this.isVolatile ? unsafeGetObjectVolatile(o, this.offset) : unsafeGetObject(o, this.offset);
+        }
+
+        @Override
+        void set(Object src, Object value) {
+            Object o = check(this.declaringClass, src);
+            if (this.isVolatile) {
+                unsafePutObjectVolatile(o, this.offset, this.type.cast(value));
+            } else {
+                unsafePutObject(o, this.offset, this.type.cast(value));
+            }
+        }
+
+        @Override
+        long getLong(Object src) {
+            throw new IllegalArgumentException(this.type.getName() + " is not a primitive type");
+        }
+
+        @Override
+        void setLong(Object src, long value) {
+            throw new IllegalArgumentException(this.type.getName() + " is not a primitive type");
+        }
+
+        @Override
+        double getDouble(Object src) {
+            throw new IllegalArgumentException(this.type.getName() + " is not a primitive type");
+        }
+
+        @Override
+        void setDouble(Object src, double value) {
+            throw new IllegalArgumentException(this.type.getName() + " is not a primitive type");
+        }
+
+        @Override
+        boolean getBoolean(Object src) {
+            throw new IllegalArgumentException(this.type.getName() + " is not a primitive type");
+        }
+
+        @Override
+        void setBoolean(Object src, boolean value) {
+            throw new IllegalArgumentException(this.type.getName() + " is not a primitive type");
+        }
+    }
+
+    /**
+     * 基本类型的实例属性，按属性类型调用对应的getInt/putInt等方法
+     */
+    private static final class UnsafePrimitiveAccessor extends FieldAccessor {
+        private final Class<?> declaringClass;
+        private final Class<?> type;
+        private final long offset;
+
+        UnsafePrimitiveAccessor(Field field, long offset) {
+            this.declaringClass = field.getDeclaringClass();
+            this.type = field.getType();
+            this.offset = offset;
+        }
+
+        @Override
+        Object get(Object src) {
+            Class<?> t = this.type;
+            if (t == boolean.class) {
+                return this.getBoolean(src);
+            }
+            if (t == char.class) {
+                return (char) this.getLong(src);
+            }
+            if (t == float.class) {
+                return (float) this.getDouble(src);
+            }
+            if (t == double.class) {
+                return this.getDouble(src);
+            }
+            long value = this.getLong(src);
+            if (t == int.class) {
+                return (int) value;
+            }
+            if (t == long.class) {
+                return value;
+            }
+            return t == byte.class ? (Object) (byte) value : (Object) (short) value;
+        }
+
+        @Override
+        void set(Object src, Object value) {
+            Class<?> t = this.type;
+            if (t == boolean.class) {
+                this.setBoolean(src, (Boolean) value);
+            } else if (t == char.class) {
+                this.setLong(src, (Character) value);
+            } else if (t == float.class || t == double.class) {
+                this.setDouble(src, ((Number) value).doubleValue());
+            } else {
+                this.setLong(src, ((Number) value).longValue());
+            }
+        }
+
+        @Override
+        long getLong(Object src) {
+            Object o = check(this.declaringClass, src);
+            Class<?> t = this.type;
+            if (t == int.class) {
+                return unsafeGetInt(o, this.offset);
+            }
+            if (t == long.class) {
+                return unsafeGetLong(o, this.offset);
+            }
+            if (t == short.class) {
+                return unsafeGetShort(o, this.offset);
+            }
+            if (t == byte.class) {
+                return unsafeGetByte(o, this.offset);
+            }
+            if (t == char.class) {
+                return unsafeGetChar(o, this.offset);
+            }
+            throw new IllegalArgumentException("Can not get " + t.getName() + " field as long");
+        }
+
+        @Override
+        void setLong(Object src, long value) {
+            Object o = check(this.declaringClass, src);
+            Class<?> t = this.type;
+            if (t == int.class) {
+                unsafePutInt(o, this.offset, (int) value);
+            } else if (t == long.class) {
+                unsafePutLong(o, this.offset, value);
+            } else if (t == short.class) {
+                unsafePutShort(o, this.offset, (short) value);
+            } else if (t == byte.class) {
+                unsafePutByte(o, this.offset, (byte) value);
+            } else if (t == char.class) {
+                unsafePutChar(o, this.offset, (char) value);
+            } else {
+                throw new IllegalArgumentException("Can not set " + t.getName() + " field to long");
+            }
+        }
+
+        @Override
+        double getDouble(Object src) {
+            Object o = check(this.declaringClass, src);
+            if (this.type == double.class) {
+                return unsafeGetDouble(o, this.offset);
+            }
+            if (this.type == float.class) {
+                return unsafeGetFloat(o, this.offset);
+            }
+            throw new IllegalArgumentException("Can not get " + this.type.getName() + " field as double");
+        }
+
+        @Override
+        void setDouble(Object src, double value) {
+            Object o = check(this.declaringClass, src);
+            if (this.type == double.class) {
+                unsafePutDouble(o, this.offset, value);
+            } else if (this.type == float.class) {
+                unsafePutFloat(o, this.offset, (float) value);
+            } else {
+                throw new IllegalArgumentException("Can not set " + this.type.getName() + " field to double");
+            }
+        }
+
+        @Override
+        boolean getBoolean(Object src) {
+            Object o = check(this.declaringClass, src);
+            if (this.type != boolean.class) {
+                throw new IllegalArgumentException("Can not get " + this.type.getName() + " field as boolean");
+            }
+            return unsafeGetBoolean(o, this.offset);
+        }
+
+        @Override
+        void setBoolean(Object src, boolean value) {
+            Object o = check(this.declaringClass, src);
+            if (this.type != boolean.class) {
+                throw new IllegalArgumentException("Can not set " + this.type.getName() + " field to boolean");
+            }
+            unsafePutBoolean(o, this.offset, value);
+        }
+    }
+
+    private static final class ReflectiveAccessor extends FieldAccessor {
+        private final Field field;
+
+        ReflectiveAccessor(Field field) {
+            this.field = field;
+        }
+
+        @Override
+        Object get(Object src) throws IllegalAccessException {
+            return this.field.get(src);
+        }
+
+        @Override
+        void set(Object src, Object value) throws IllegalAccessException {
+            this.field.set(src, value);
+        }
+
+        @Override
+        long getLong(Object src) throws IllegalAccessException {
+            return this.field.getLong(src);
+        }
+
+        @Override
+        void setLong(Object src, long value) throws IllegalAccessException {
+            Class<?> t = this.field.getType();
+            if (t == int.class) {
+                this.field.setInt(src, (int) value);
+            } else if (t == short.class) {
+                this.field.setShort(src, (short) value);
+            } else if (t == byte.class) {
+                this.field.setByte(src, (byte) value);
+            } else if (t == char.class) {
+                this.field.setChar(src, (char) value);
+            } else {
+                this.field.setLong(src, value);
+            }
+        }
+
+        @Override
+        double getDouble(Object src) throws IllegalAccessException {
+            return this.field.getDouble(src);
+        }
+
+        @Override
+        void setDouble(Object src, double value) throws IllegalAccessException {
+            if (this.field.getType() == float.class) {
+                this.field.setFloat(src, (float) value);
+            } else {
+                this.field.setDouble(src, value);
+            }
+        }
+
+        @Override
+        boolean getBoolean(Object src) throws IllegalAccessException {
+            return this.field.getBoolean(src);
+        }
+
+        @Override
+        void setBoolean(Object src, boolean value) throws IllegalAccessException {
+            this.field.setBoolean(src, value);
+        }
+    }
+}
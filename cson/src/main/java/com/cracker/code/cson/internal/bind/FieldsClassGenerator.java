@@ -0,0 +1,603 @@
+package com.cracker.code.cson.internal.bind;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *
+ * FieldsClassGenerator：为某个类生成{@link CompiledFields}的子类
+ *
+ * 直接输出class文件，不依赖第三方字节码库。版本号使用49(Java 5)，跳转不需要StackMapTable，
+ * 由类型推导校验器校验。生成的类由本生成器私有的ClassLoader加载，不引用目标类本身，
+ * 因此不受目标类、属性可见性的限制。
+ *
+ * 取不到Unsafe时{@link #generate}返回null，调用方继续使用反射
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+final class FieldsClassGenerator {
+
+    private static final String PACKAGE = "com/cracker/code/cson/internal/bind/generated/";
+    private static final String SUPER = "com/cracker/code/cson/internal/bind/CompiledFields";
+    private static final String UNSAFE = "sun/misc/Unsafe";
+    /**
+     * 生成类中存放Unsafe实例的private static属性
+     */
+    private static final String UNSAFE_FIELD = "UNSAFE";
+    private static final String JSON_WRITER = "com/cracker/code/cson/stream/JsonWriter";
+    private static final String JSON_READER = "com/cracker/code/cson/stream/JsonReader";
+    private static final String JSON_TOKEN = "com/cracker/code/cson/stream/JsonToken";
+    private static final String ENCODED_NAME = "com/cracker/code/cson/stream/JsonEncodedName";
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private final DefiningClassLoader classLoader = new DefiningClassLoader(CompiledFields.class.getClassLoader());
+
+    /**
+     * @param rawType 属性所在的类
+     * @param fields 与Adapter中顺序一致的BoundField
+     * @return 已经绑定好的CompiledFields，无法生成时返回null
+     */
+    CompiledFields generate(Class<?> rawType, ReflectiveTypeAdapterFactory.BoundField[] fields) {
+        if (!FieldAccessor.UNSAFE_AVAILABLE) {
+            return null;
+        }
+        String className = PACKAGE + rawType.getSimpleName() + "$CsonFields" + COUNTER.incrementAndGet();
+        try {
+            byte[] bytes = new ClassFile(className, fields).toByteArray();
+            Class<?> generated = this.classLoader.define(className.replace('/', '.'), bytes);
+            Field unsafe = generated.getDeclaredField(UNSAFE_FIELD);
+            unsafe.setAccessible(true);
+            unsafe.set(null, FieldAccessor.UNSAFE);
+            CompiledFields compiled = (CompiledFields) generated.getConstructor().newInstance();
+            compiled.bind(rawType, fields);
+            return compiled;
+        } catch (Exception | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * 属性的展开方式
+     */
+    private static final int GENERIC = 0;
+    private static final int OBJECT = 1;
+    private static final int INT = 2;
+
+    private static int kindOf(ReflectiveTypeAdapterFactory.BoundField boundField) {
+        Field field = boundField.field;
+        if (Modifier.isStatic(field.getModifiers())) {
+            return GENERIC;
+        }
+        Class<?> type = field.getType();
+        if (type == int.class) {
+            // 用户替换了int的适配器时不能展开
+            return boundField.typeAdapter == TypeAdapters.INTEGER ? INT : GENERIC;
+        }
+        return type.isPrimitive() ? GENERIC : OBJECT;
+    }
+
+    private static final class DefiningClassLoader extends ClassLoader {
+        DefiningClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+
+    /**
+     * 一个生成的class文件
+     */
+    private static final class ClassFile {
+        private final ConstantPool pool = new ConstantPool();
+        private final ByteVector methods = new ByteVector();
+        private int methodCount;
+        private final String className;
+        private final ReflectiveTypeAdapterFactory.BoundField[] fields;
+        private final int[] kinds;
+        private final long[] offsets;
+        /**
+         * volatile属性使用getIntVolatile/putObjectVolatile等方法
+         */
+        private final String[] accessSuffixes;
+
+        ClassFile(String className, ReflectiveTypeAdapterFactory.BoundField[] fields) {
+            this.className = className;
+            this.fields = fields;
+            this.kinds = new int[fields.length];
+            this.offsets = new long[fields.length];
+            this.accessSuffixes = new String[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                kinds[i] = kindOf(fields[i]);
+                if (kinds[i] != GENERIC) {
+                    offsets[i] = FieldAccessor.objectFieldOffset(fields[i].field);
+                    accessSuffixes[i] = Modifier.isVolatile(fields[i].field.getModifiers()) ? "Volatile" : "";
+                }
+            }
+        }
+
+        byte[] toByteArray() {
+            int thisClass = pool.classRef(className);
+            int superClass = pool.classRef(SUPER);
+            constructor();
+            writeFields();
+            readField();
+            int unsafeName = pool.utf8(UNSAFE_FIELD);
+            int unsafeDescriptor = pool.utf8("L" + UNSAFE + ";");
+
+            ByteVector out = new ByteVector();
+            out.putInt(0xCAFEBABE);
+            out.putShort(0);
+            out.putShort(49);
+            out.putShort(pool.count);
+            out.putBytes(pool.bytes);
+            // ACC_PUBLIC | ACC_FINAL | ACC_SUPER
+            out.putShort(0x0001 | 0x0010 | 0x0020);
+            out.putShort(thisClass);
+            out.putShort(superClass);
+            out.putShort(0);
+            // private static sun.misc.Unsafe UNSAFE
+            out.putShort(1);
+            out.putShort(0x0002 | 0x0008);
+            out.putShort(unsafeName);
+            out.putShort(unsafeDescriptor);
+            out.putShort(0);
+            out.putShort(methodCount);
+            out.putBytes(methods);
+            out.putShort(0);
+            return out.toByteArray();
+        }
+
+        private void constructor() {
+            Code code = new Code();
+            code.op(ALOAD_0);
+            code.op(INVOKESPECIAL).u2(pool.methodRef(SUPER, "<init>", "()V"));
+            code.op(RETURN);
+            method("<init>", "()V", code, 1, 1);
+        }
+
+        /**
+         * protected void writeFields(JsonWriter out, Object src)
+         * 局部变量：0 this，1 out，2 src，3 属性值
+         */
+        private void writeFields() {
+            Code code = new Code();
+            for (int i = 0; i < fields.length; i++) {
+                if (!fields[i].serialized) {
+                    continue;
+                }
+                switch (kinds[i]) {
+                    case INT:
+                        writeName(code, i);
+                        code.op(ALOAD_1);
+                        getUnsafe(code, ALOAD_2, i);
+                        code.op(INVOKEVIRTUAL).u2(pool.methodRef(UNSAFE, "getInt" + accessSuffixes[i],
+                                "(Ljava/lang/Object;J)I"));
+                        code.op(I2L);
+                        code.op(INVOKEVIRTUAL).u2(pool.methodRef(JSON_WRITER, "value", "(J)L" + JSON_WRITER + ";"));
+                        code.op(POP);
+                        break;
+                    case OBJECT:
+                        // Object value = UNSAFE.getObject(src, offset); if (value != src) {...}
+                        getUnsafe(code, ALOAD_2, i);
+                        code.op(INVOKEVIRTUAL).u2(pool.methodRef(UNSAFE, "getObject" + accessSuffixes[i],
+                                "(Ljava/lang/Object;J)Ljava/lang/Object;"));
+                        code.op(ASTORE_3);
+                        code.op(ALOAD_3);
+                        code.op(ALOAD_2);
+                        int skip = code.jump(IF_ACMPEQ);
+                        writeName(code, i);
+                        code.op(ALOAD_0);
+                        code.op(ALOAD_1);
+                        code.pushInt(i, pool);
+                        code.op(ALOAD_3);
+                        code.op(INVOKEVIRTUAL).u2(pool.methodRef(SUPER, "writeValue",
+                                "(L" + JSON_WRITER + ";ILjava/lang/Object;)V"));
+                        code.bind(skip);
+                        break;
+                    default:
+                        code.op(ALOAD_0);
+                        code.op(ALOAD_1);
+                        code.pushInt(i, pool);
+                        code.op(ALOAD_2);
+                        code.op(INVOKEVIRTUAL).u2(pool.methodRef(SUPER, "writeBoundField",
+                                "(L" + JSON_WRITER + ";ILjava/lang/Object;)V"));
+                        break;
+                }
+            }
+            code.op(RETURN);
+            method("writeFields", "(L" + JSON_WRITER + ";Ljava/lang/Object;)V", code, 8, 4);
+        }
+
+        /**
+         * protected void readField(JsonReader in, Object instance, int index)
+         * 局部变量：0 this，1 in，2 instance，3 index
+         */
+        private void readField() {
+            Code code = new Code();
+            int n = fields.length;
+            int[] cases = new int[n];
+            int defaultCase;
+            if (n == 0) {
+                defaultCase = -1;
+            } else {
+                code.op(ILOAD_3);
+                int switchAt = code.tableSwitch(n);
+                for (int i = 0; i < n; i++) {
+                    cases[i] = code.length();
+                    switch (kinds[i]) {
+                        case INT:
+                            // 只有下一个值是数字时才展开，null、字符串等交给BoundField
+                            code.op(ALOAD_1);
+                            code.op(INVOKEVIRTUAL).u2(pool.methodRef(JSON_READER, "peek", "()L" + JSON_TOKEN + ";"));
+                            code.op(GETSTATIC).u2(pool.fieldRef(JSON_TOKEN, "NUMBER", "L" + JSON_TOKEN + ";"));
+                            int generic = code.jump(IF_ACMPNE);
+                            getUnsafe(code, ALOAD_2, i);
+                            code.op(ALOAD_1);
+                            code.op(INVOKESTATIC).u2(pool.methodRef(SUPER, "nextInt", "(L" + JSON_READER + ";)I"));
+                            code.op(INVOKEVIRTUAL).u2(pool.methodRef(UNSAFE, "putInt" + accessSuffixes[i],
+                                    "(Ljava/lang/Object;JI)V"));
+                            code.op(RETURN);
+                            code.bind(generic);
+                            readBoundField(code);
+                            break;
+                        case OBJECT:
+                            getUnsafe(code, ALOAD_2, i);
+                            code.op(ALOAD_0);
+                            code.op(ALOAD_1);
+                            code.op(ILOAD_3);
+                            code.op(INVOKEVIRTUAL).u2(pool.methodRef(SUPER, "readValue",
+                                    "(L" + JSON_READER + ";I)Ljava/lang/Object;"));
+                            code.op(INVOKEVIRTUAL).u2(pool.methodRef(UNSAFE, "putObject" + accessSuffixes[i],
+                                    "(Ljava/lang/Object;JLjava/lang/Object;)V"));
+                            code.op(RETURN);
+                            break;
+                        default:
+                            readBoundField(code);
+                            break;
+                    }
+                }
+                defaultCase = code.length();
+                code.bindSwitch(switchAt, defaultCase, cases);
+            }
+            readBoundField(code);
+            method("readField", "(L" + JSON_READER + ";Ljava/lang/Object;I)V", code, 8, 4);
+        }
+
+        private void readBoundField(Code code) {
+            code.op(ALOAD_0);
+            code.op(ALOAD_1);
+            code.op(ILOAD_3);
+            code.op(ALOAD_2);
+            code.op(INVOKEVIRTUAL).u2(pool.methodRef(SUPER, "readBoundField",
+                    "(L" + JSON_READER + ";ILjava/lang/Object;)V"));
+            code.op(RETURN);
+        }
+
+        /**
+         * out.name(this.names[i])
+         */
+        private void writeName(Code code, int i) {
+            code.op(ALOAD_1);
+            code.op(ALOAD_0);
+            code.op(GETFIELD).u2(pool.fieldRef(SUPER, "names", "[L" + ENCODED_NAME + ";"));
+            code.pushInt(i, pool);
+            code.op(AALOAD);
+            code.op(INVOKEVIRTUAL).u2(pool.methodRef(JSON_WRITER, "name",
+                    "(L" + ENCODED_NAME + ";)L" + JSON_WRITER + ";"));
+            code.op(POP);
+        }
+
+        /**
+         * 压入UNSAFE、对象、偏移量
+         */
+        private void getUnsafe(Code code, int loadObject, int i) {
+            code.op(GETSTATIC).u2(pool.fieldRef(className, UNSAFE_FIELD, "L" + UNSAFE + ";"));
+            code.op(loadObject);
+            code.op(LDC2_W).u2(pool.longConstant(offsets[i]));
+        }
+
+        private void method(String name, String descriptor, Code code, int maxStack, int maxLocals) {
+            // ACC_PUBLIC(构造器)或ACC_PROTECTED | ACC_FINAL
+            methods.putShort("<init>".equals(name) ? 0x0001 : 0x0004 | 0x0010);
+            methods.putShort(pool.utf8(name));
+            methods.putShort(pool.utf8(descriptor));
+            methods.putShort(1);
+            methods.putShort(pool.utf8("Code"));
+            methods.putInt(12 + code.length());
+            methods.putShort(maxStack);
+            methods.putShort(maxLocals);
+            methods.putInt(code.length());
+            methods.putBytes(code);
+            // exception_table_length、attributes_count
+            methods.putShort(0);
+            methods.putShort(0);
+            methodCount++;
+        }
+    }
+
+    private static final int ICONST_0 = 0x03;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC_W = 0x13;
+    private static final int LDC2_W = 0x14;
+    private static final int ILOAD_3 = 0x1d;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int ALOAD_3 = 0x2d;
+    private static final int AALOAD = 0x32;
+    private static final int ASTORE_3 = 0x4e;
+    private static final int POP = 0x57;
+    private static final int I2L = 0x85;
+    private static final int IF_ACMPEQ = 0xa5;
+    private static final int IF_ACMPNE = 0xa6;
+    private static final int TABLESWITCH = 0xaa;
+    private static final int RETURN = 0xb1;
+    private static final int GETSTATIC = 0xb2;
+    private static final int GETFIELD = 0xb4;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+
+    /**
+     * 方法体的字节码
+     */
+    private static final class Code extends ByteVector {
+
+        Code op(int opcode) {
+            putByte(opcode);
+            return this;
+        }
+
+        Code u2(int value) {
+            putShort(value);
+            return this;
+        }
+
+        void pushInt(int value, ConstantPool pool) {
+            if (value <= 5) {
+                op(ICONST_0 + value);
+            } else if (value <= Byte.MAX_VALUE) {
+                op(BIPUSH).putByte(value);
+            } else if (value <= Short.MAX_VALUE) {
+                op(SIPUSH).putShort(value);
+            } else {
+                op(LDC_W).putShort(pool.intConstant(value));
+            }
+        }
+
+        /**
+         * 输出跳转指令，偏移量稍后由{@link #bind}填写
+         * @return 指令的位置
+         */
+        int jump(int opcode) {
+            int at = length();
+            op(opcode).putShort(0);
+            return at;
+        }
+
+        /**
+         * 让at处的跳转指令跳到当前位置
+         */
+        void bind(int at) {
+            int offset = length() - at;
+            data[at + 1] = (byte) (offset >>> 8);
+            data[at + 2] = (byte) offset;
+        }
+
+        /**
+         * 输出tableswitch，范围为[0, n)，各分支的偏移量稍后由{@link #bindSwitch}填写
+         * @return 指令的位置
+         */
+        int tableSwitch(int n) {
+            int at = length();
+            op(TABLESWITCH);
+            while (length() % 4 != 0) {
+                putByte(0);
+            }
+            putInt(0);
+            putInt(0);
+            putInt(n - 1);
+            for (int i = 0; i < n; i++) {
+                putInt(0);
+            }
+            return at;
+        }
+
+        void bindSwitch(int at, int defaultCase, int[] cases) {
+            int p = (at + 4) & ~3;
+            setInt(p, defaultCase - at);
+            for (int i = 0; i < cases.length; i++) {
+                setInt(p + 12 + i * 4, cases[i] - at);
+            }
+        }
+    }
+
+    /**
+     * 常量池，相同的项只保存一次
+     */
+    private static final class ConstantPool {
+        private final ByteVector bytes = new ByteVector();
+        private final Map<String, Integer> entries = new HashMap<>();
+        /**
+         * 常量池项数加1，long占两项
+         */
+        private int count = 1;
+
+        int utf8(String value) {
+            Integer index = entries.get("U" + value);
+            if (index != null) {
+                return index;
+            }
+            bytes.putByte(1);
+            byte[] encoded = modifiedUtf8(value);
+            bytes.putShort(encoded.length);
+            bytes.putBytes(encoded, encoded.length);
+            return add("U" + value, 1);
+        }
+
+        int intConstant(int value) {
+            Integer index = entries.get("I" + value);
+            if (index != null) {
+                return index;
+            }
+            bytes.putByte(3);
+            bytes.putInt(value);
+            return add("I" + value, 1);
+        }
+
+        int longConstant(long value) {
+            Integer index = entries.get("J" + value);
+            if (index != null) {
+                return index;
+            }
+            bytes.putByte(5);
+            bytes.putInt((int) (value >>> 32));
+            bytes.putInt((int) value);
+            return add("J" + value, 2);
+        }
+
+        int classRef(String internalName) {
+            Integer index = entries.get("C" + internalName);
+            if (index != null) {
+                return index;
+            }
+            int name = utf8(internalName);
+            bytes.putByte(7);
+            bytes.putShort(name);
+            return add("C" + internalName, 1);
+        }
+
+        int fieldRef(String owner, String name, String descriptor) {
+            return memberRef(9, owner, name, descriptor);
+        }
+
+        int methodRef(String owner, String name, String descriptor) {
+            return memberRef(10, owner, name, descriptor);
+        }
+
+        private int memberRef(int tag, String owner, String name, String descriptor) {
+            String key = "M" + tag + owner + "." + name + descriptor;
+            Integer index = entries.get(key);
+            if (index != null) {
+                return index;
+            }
+            int ownerIndex = classRef(owner);
+            int nameAndType = nameAndType(name, descriptor);
+            bytes.putByte(tag);
+            bytes.putShort(ownerIndex);
+            bytes.putShort(nameAndType);
+            return add(key, 1);
+        }
+
+        private int nameAndType(String name, String descriptor) {
+            String key = "N" + name + ";" + descriptor;
+            Integer index = entries.get(key);
+            if (index != null) {
+                return index;
+            }
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            bytes.putByte(12);
+            bytes.putShort(nameIndex);
+            bytes.putShort(descriptorIndex);
+            return add(key, 1);
+        }
+
+        private int add(String key, int slots) {
+            int index = count;
+            entries.put(key, index);
+            count += slots;
+            return index;
+        }
+
+        private static byte[] modifiedUtf8(String value) {
+            ByteVector out = new ByteVector();
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c != 0 && c < 0x80) {
+                    out.putByte(c);
+                } else if (c < 0x800) {
+                    out.putByte(0xc0 | (c >> 6));
+                    out.putByte(0x80 | (c & 0x3f));
+                } else {
+                    out.putByte(0xe0 | (c >> 12));
+                    out.putByte(0x80 | ((c >> 6) & 0x3f));
+                    out.putByte(0x80 | (c & 0x3f));
+                }
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * 按大端序写入的可扩容byte[]
+     */
+    private static class ByteVector {
+        byte[] data = new byte[64];
+        private int length;
+
+        int length() {
+            return length;
+        }
+
+        void putByte(int value) {
+            ensure(1);
+            data[length++] = (byte) value;
+        }
+
+        void putShort(int value) {
+            ensure(2);
+            data[length++] = (byte) (value >>> 8);
+            data[length++] = (byte) value;
+        }
+
+        void putInt(int value) {
+            ensure(4);
+            setInt(length, value);
+            length += 4;
+        }
+
+        void setInt(int at, int value) {
+            data[at] = (byte) (value >>> 24);
+            data[at + 1] = (byte) (value >>> 16);
+            data[at + 2] = (byte) (value >>> 8);
+            data[at + 3] = (byte) value;
+        }
+
+        void putBytes(byte[] bytes, int count) {
+            ensure(count);
+            System.arraycopy(bytes, 0, data, length, count);
+            length += count;
+        }
+
+        void putBytes(ByteVector vector) {
+            putBytes(vector.data, vector.length);
+        }
+
+        byte[] toByteArray() {
+            byte[] result = new byte[length];
+            System.arraycopy(data, 0, result, 0, length);
+            return result;
+        }
+
+        private void ensure(int size) {
+            if (length + size > data.length) {
+                byte[] grown = new byte[Math.max(data.length * 2, length + size)];
+                System.arraycopy(data, 0, grown, 0, length);
+                data = grown;
+            }
+        }
+    }
+}
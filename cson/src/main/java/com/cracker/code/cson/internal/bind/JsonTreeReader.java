@@ -4,11 +4,15 @@ package com.cracker.code.cson.internal.bind;
 
 
 import com.cracker.code.cson.*;
+import com.cracker.code.cson.internal.Base64Decoder;
+import com.cracker.code.cson.stream.JsonNameSet;
 import com.cracker.code.cson.stream.JsonReader;
 import com.cracker.code.cson.stream.JsonToken;
+import com.cracker.code.cson.stream.StringChunkHandler;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -27,20 +31,11 @@ import java.util.Map;
  */
 
 public final class JsonTreeReader extends JsonReader {
-    private static final Reader UNREADABLE_READER = new Reader() {
-        @Override public int read(char[] buffer, int offset, int count) throws IOException {
-            throw new AssertionError();
-        }
-        @Override public void close() throws IOException {
-            throw new AssertionError();
-        }
-    };
     private static final Object SENTINEL_CLOSED = new Object();
 
     private final List<Object> stack = new ArrayList<Object>();
 
     public JsonTreeReader(JsonElement element) {
-        super(UNREADABLE_READER);
         stack.add(element);
     }
 
@@ -138,6 +133,34 @@ public final class JsonTreeReader extends JsonReader {
         return (String) entry.getKey();
     }
 
+    @Override public int nextName(JsonNameSet names) throws IOException {
+        return names.indexOf(nextName());
+    }
+
+    @Override public int nextName(JsonNameSet names, int expected) throws IOException {
+        return names.indexOf(nextName());
+    }
+
+    @Override public void nextString(StringChunkHandler handler) throws IOException {
+        String value = nextString();
+        if (!value.isEmpty()) {
+            handler.chunk(value.toCharArray(), 0, value.length());
+        }
+    }
+
+    @Override public Reader nextStringAsReader() throws IOException {
+        return new StringReader(nextString());
+    }
+
+    @Override public byte[] nextBase64() throws IOException {
+        String value = nextString();
+        try {
+            return Base64Decoder.decode(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid Base64 string at path " + getPath(), e);
+        }
+    }
+
     @Override public String nextString() throws IOException {
         JsonToken token = peek();
         if (token != JsonToken.STRING && token != JsonToken.NUMBER) {
@@ -4,11 +4,17 @@ package com.cracker.code.cson.internal.bind;
 
 
 import com.cracker.code.cson.*;
+import com.cracker.code.cson.stream.JsonEncodedName;
 import com.cracker.code.cson.stream.JsonWriter;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
 
 
@@ -133,6 +139,10 @@ public final class JsonTreeWriter extends JsonWriter {
         throw new IllegalStateException();
     }
 
+    @Override public JsonWriter name(JsonEncodedName name) throws IOException {
+        return name(name.getName());
+    }
+
     @Override public JsonWriter value(String value) throws IOException {
         if (value == null) {
             return nullValue();
@@ -141,6 +151,38 @@ public final class JsonTreeWriter extends JsonWriter {
         return this;
     }
 
+    @Override public JsonWriter value(Reader value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        StringBuilder builder = new StringBuilder();
+        char[] chars = new char[1024];
+        int n;
+        while ((n = value.read(chars, 0, chars.length)) != -1) {
+            builder.append(chars, 0, n);
+        }
+        put(new JsonPrimitive(builder.toString()));
+        return this;
+    }
+
+    @Override public JsonWriter valueBase64(byte[] bytes, int offset, int length) throws IOException {
+        if (bytes == null) {
+            return nullValue();
+        }
+        byte[] range = offset == 0 && length == bytes.length ? bytes : Arrays.copyOfRange(bytes, offset, offset + length);
+        put(new JsonPrimitive(Base64.getEncoder().encodeToString(range)));
+        return this;
+    }
+
+    @Override public JsonWriter valueBase64(ByteBuffer bytes) throws IOException {
+        if (bytes == null) {
+            return nullValue();
+        }
+        ByteBuffer encoded = Base64.getEncoder().encode(bytes.duplicate());
+        put(new JsonPrimitive(new String(encoded.array(), 0, encoded.remaining(), StandardCharsets.ISO_8859_1)));
+        return this;
+    }
+
     @Override public JsonWriter nullValue() throws IOException {
         put(JsonNull.INSTANCE);
         return this;
@@ -159,6 +201,14 @@ public final class JsonTreeWriter extends JsonWriter {
         return this;
     }
 
+    @Override public JsonWriter value(float value) throws IOException {
+        if (!isLenient() && (Float.isNaN(value) || Float.isInfinite(value))) {
+            throw new IllegalArgumentException("JSON forbids NaN and infinities: " + value);
+        }
+        put(new JsonPrimitive(value));
+        return this;
+    }
+
     @Override public JsonWriter value(long value) throws IOException {
         put(new JsonPrimitive(value));
         return this;
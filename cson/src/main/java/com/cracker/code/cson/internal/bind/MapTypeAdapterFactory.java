@@ -74,9 +74,9 @@ public final class MapTypeAdapterFactory implements TypeAdapterFactory {
                        Type valueType, TypeAdapter<V> valueTypeAdapter,
                        ObjectConstructor<? extends Map<K, V>> constructor) {
             this.keyTypeAdapter =
-                    new TypeAdapterRuntimeTypeWrapper<K>(context, keyTypeAdapter, keyType);
+                    TypeAdapterRuntimeTypeWrapper.create(context, keyTypeAdapter, keyType);
             this.valueTypeAdapter =
-                    new TypeAdapterRuntimeTypeWrapper<V>(context, valueTypeAdapter, valueType);
+                    TypeAdapterRuntimeTypeWrapper.create(context, valueTypeAdapter, valueType);
             this.constructor = constructor;
         }
 
@@ -90,7 +90,34 @@ public final class MapTypeAdapterFactory implements TypeAdapterFactory {
             }
 
             Map<K, V> map = constructor.construct();
+            this.readEntries(in, peek, map);
+            return map;
+        }
 
+        /**
+         * 清空target后重新填充，值本身不复用
+         */
+        @Override
+        public Map<K, V> readInto(JsonReader in, Map<K, V> target) throws IOException {
+            if (target == null) {
+                return this.read(in);
+            }
+            JsonToken peek = in.peek();
+            if (peek == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            try {
+                target.clear();
+            } catch (UnsupportedOperationException e) {
+                // 不可修改的Map
+                return this.read(in);
+            }
+            this.readEntries(in, peek, target);
+            return target;
+        }
+
+        private void readEntries(JsonReader in, JsonToken peek, Map<K, V> map) throws IOException {
             if (peek == JsonToken.BEGIN_ARRAY) {
                 in.beginArray();
                 while (in.hasNext()) {
@@ -117,7 +144,6 @@ public final class MapTypeAdapterFactory implements TypeAdapterFactory {
                 }
                 in.endObject();
             }
-            return map;
         }
 
         @Override
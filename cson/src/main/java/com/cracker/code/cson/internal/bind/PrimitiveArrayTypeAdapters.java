@@ -0,0 +1,386 @@
+package com.cracker.code.cson.internal.bind;
+
+import com.cracker.code.cson.JsonSyntaxException;
+import com.cracker.code.cson.TypeAdapter;
+import com.cracker.code.cson.stream.JsonReader;
+import com.cracker.code.cson.stream.JsonToken;
+import com.cracker.code.cson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ *
+ * PrimitiveArrayTypeAdapters：基本类型数组的TypeAdapter
+ *
+ * 读取时元素直接存入按需扩容的基本类型数组，最后截取一次；写出时直接调用value(long)、value(double)等，
+ * 整个过程不装箱，也不经过Array.get/set。元素的读写规则与TypeAdapters中对应的TypeAdapter一致，
+ * 只是数组元素不能为null
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+public final class PrimitiveArrayTypeAdapters {
+
+    /**
+     * 读取时缓冲区的初始长度
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    private PrimitiveArrayTypeAdapters() {
+    }
+
+    /**
+     * @param componentType 数组元素的类型
+     * @param componentTypeAdapter 元素的TypeAdapter
+     * @return 元素是基本类型且使用内置的TypeAdapter时返回对应的数组TypeAdapter，否则返回null
+     */
+    static TypeAdapter<?> get(Class<?> componentType, TypeAdapter<?> componentTypeAdapter) {
+        if (componentType == int.class && componentTypeAdapter == TypeAdapters.INTEGER) {
+            return INT_ARRAY;
+        }
+        if (componentType == long.class && componentTypeAdapter == TypeAdapters.LONG) {
+            return LONG_ARRAY;
+        }
+        if (componentType == double.class && componentTypeAdapter == TypeAdapters.DOUBLE) {
+            return DOUBLE_ARRAY;
+        }
+        if (componentType == float.class && componentTypeAdapter == TypeAdapters.FLOAT) {
+            return FLOAT_ARRAY;
+        }
+        if (componentType == short.class && componentTypeAdapter == TypeAdapters.SHORT) {
+            return SHORT_ARRAY;
+        }
+        if (componentType == byte.class && componentTypeAdapter == TypeAdapters.BYTE) {
+            return BYTE_ARRAY;
+        }
+        if (componentType == boolean.class && componentTypeAdapter == TypeAdapters.BOOLEAN) {
+            return BOOLEAN_ARRAY;
+        }
+        if (componentType == char.class && componentTypeAdapter == TypeAdapters.CHARACTER) {
+            return CHAR_ARRAY;
+        }
+        return null;
+    }
+
+    private static int nextInt(JsonReader in) throws IOException {
+        checkNotNull(in);
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private static long nextLong(JsonReader in) throws IOException {
+        checkNotNull(in);
+        try {
+            return in.nextLong();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private static double nextDouble(JsonReader in) throws IOException {
+        checkNotNull(in);
+        return in.nextDouble();
+    }
+
+    private static void checkNotNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            throw new JsonSyntaxException("Expected a primitive array element but was null at " + in.getPath());
+        }
+    }
+
+    /**
+     * 数组为null时写出null并返回true
+     */
+    private static boolean writeNull(JsonWriter out, Object array) throws IOException {
+        if (array == null) {
+            out.nullValue();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * json为null时读出null并返回true
+     */
+    private static boolean readNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return true;
+        }
+        return false;
+    }
+
+    public static final TypeAdapter<int[]> INT_ARRAY = new TypeAdapter<int[]>() {
+        @Override
+        public int[] read(JsonReader in) throws IOException {
+            if (readNull(in)) {
+                return null;
+            }
+            int[] buffer = new int[INITIAL_CAPACITY];
+            int size = 0;
+            in.beginArray();
+            while (in.hasNext()) {
+                if (size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, size << 1);
+                }
+                buffer[size++] = nextInt(in);
+            }
+            in.endArray();
+            return Arrays.copyOf(buffer, size);
+        }
+        @Override
+        public void write(JsonWriter out, int[] value) throws IOException {
+            if (writeNull(out, value)) {
+                return;
+            }
+            out.beginArray();
+            for (int element : value) {
+                out.value(element);
+            }
+            out.endArray();
+        }
+    };
+
+    public static final TypeAdapter<long[]> LONG_ARRAY = new TypeAdapter<long[]>() {
+        @Override
+        public long[] read(JsonReader in) throws IOException {
+            if (readNull(in)) {
+                return null;
+            }
+            long[] buffer = new long[INITIAL_CAPACITY];
+            int size = 0;
+            in.beginArray();
+            while (in.hasNext()) {
+                if (size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, size << 1);
+                }
+                buffer[size++] = nextLong(in);
+            }
+            in.endArray();
+            return Arrays.copyOf(buffer, size);
+        }
+        @Override
+        public void write(JsonWriter out, long[] value) throws IOException {
+            if (writeNull(out, value)) {
+                return;
+            }
+            out.beginArray();
+            for (long element : value) {
+                out.value(element);
+            }
+            out.endArray();
+        }
+    };
+
+    public static final TypeAdapter<short[]> SHORT_ARRAY = new TypeAdapter<short[]>() {
+        @Override
+        public short[] read(JsonReader in) throws IOException {
+            if (readNull(in)) {
+                return null;
+            }
+            short[] buffer = new short[INITIAL_CAPACITY];
+            int size = 0;
+            in.beginArray();
+            while (in.hasNext()) {
+                if (size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, size << 1);
+                }
+                buffer[size++] = (short) nextInt(in);
+            }
+            in.endArray();
+            return Arrays.copyOf(buffer, size);
+        }
+        @Override
+        public void write(JsonWriter out, short[] value) throws IOException {
+            if (writeNull(out, value)) {
+                return;
+            }
+            out.beginArray();
+            for (short element : value) {
+                out.value(element);
+            }
+            out.endArray();
+        }
+    };
+
+    public static final TypeAdapter<byte[]> BYTE_ARRAY = new TypeAdapter<byte[]>() {
+        @Override
+        public byte[] read(JsonReader in) throws IOException {
+            if (readNull(in)) {
+                return null;
+            }
+            byte[] buffer = new byte[INITIAL_CAPACITY];
+            int size = 0;
+            in.beginArray();
+            while (in.hasNext()) {
+                if (size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, size << 1);
+                }
+                buffer[size++] = (byte) nextInt(in);
+            }
+            in.endArray();
+            return Arrays.copyOf(buffer, size);
+        }
+        @Override
+        public void write(JsonWriter out, byte[] value) throws IOException {
+            if (writeNull(out, value)) {
+                return;
+            }
+            out.beginArray();
+            for (byte element : value) {
+                out.value(element);
+            }
+            out.endArray();
+        }
+    };
+
+    public static final TypeAdapter<double[]> DOUBLE_ARRAY = new TypeAdapter<double[]>() {
+        @Override
+        public double[] read(JsonReader in) throws IOException {
+            if (readNull(in)) {
+                return null;
+            }
+            double[] buffer = new double[INITIAL_CAPACITY];
+            int size = 0;
+            in.beginArray();
+            while (in.hasNext()) {
+                if (size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, size << 1);
+                }
+                buffer[size++] = nextDouble(in);
+            }
+            in.endArray();
+            return Arrays.copyOf(buffer, size);
+        }
+        @Override
+        public void write(JsonWriter out, double[] value) throws IOException {
+            if (writeNull(out, value)) {
+                return;
+            }
+            out.beginArray();
+            for (double element : value) {
+                if (Double.isNaN(element) || Double.isInfinite(element)) {
+                    // 与TypeAdapters.DOUBLE一致，由value(Number)按lenient处理
+                    out.value((Number) element);
+                } else {
+                    out.value(element);
+                }
+            }
+            out.endArray();
+        }
+    };
+
+    public static final TypeAdapter<float[]> FLOAT_ARRAY = new TypeAdapter<float[]>() {
+        @Override
+        public float[] read(JsonReader in) throws IOException {
+            if (readNull(in)) {
+                return null;
+            }
+            float[] buffer = new float[INITIAL_CAPACITY];
+            int size = 0;
+            in.beginArray();
+            while (in.hasNext()) {
+                if (size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, size << 1);
+                }
+                buffer[size++] = (float) nextDouble(in);
+            }
+            in.endArray();
+            return Arrays.copyOf(buffer, size);
+        }
+        @Override
+        public void write(JsonWriter out, float[] value) throws IOException {
+            if (writeNull(out, value)) {
+                return;
+            }
+            out.beginArray();
+            for (float element : value) {
+                if (Float.isNaN(element) || Float.isInfinite(element)) {
+                    out.value((Number) element);
+                } else {
+                    out.value(element);
+                }
+            }
+            out.endArray();
+        }
+    };
+
+    public static final TypeAdapter<boolean[]> BOOLEAN_ARRAY = new TypeAdapter<boolean[]>() {
+        @Override
+        public boolean[] read(JsonReader in) throws IOException {
+            if (readNull(in)) {
+                return null;
+            }
+            boolean[] buffer = new boolean[INITIAL_CAPACITY];
+            int size = 0;
+            in.beginArray();
+            while (in.hasNext()) {
+                if (size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, size << 1);
+                }
+                JsonToken peek = in.peek();
+                if (peek == JsonToken.NULL) {
+                    checkNotNull(in);
+                }
+                buffer[size++] = peek == JsonToken.STRING ? Boolean.parseBoolean(in.nextString()) : in.nextBoolean();
+            }
+            in.endArray();
+            return Arrays.copyOf(buffer, size);
+        }
+        @Override
+        public void write(JsonWriter out, boolean[] value) throws IOException {
+            if (writeNull(out, value)) {
+                return;
+            }
+            out.beginArray();
+            for (boolean element : value) {
+                out.value(element);
+            }
+            out.endArray();
+        }
+    };
+
+    public static final TypeAdapter<char[]> CHAR_ARRAY = new TypeAdapter<char[]>() {
+        @Override
+        public char[] read(JsonReader in) throws IOException {
+            if (readNull(in)) {
+                return null;
+            }
+            char[] buffer = new char[INITIAL_CAPACITY];
+            int size = 0;
+            in.beginArray();
+            while (in.hasNext()) {
+                if (size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, size << 1);
+                }
+                checkNotNull(in);
+                String str = in.nextString();
+                if (str.length() != 1) {
+                    throw new JsonSyntaxException("Expecting character, got: " + str);
+                }
+                buffer[size++] = str.charAt(0);
+            }
+            in.endArray();
+            return Arrays.copyOf(buffer, size);
+        }
+        @Override
+        public void write(JsonWriter out, char[] value) throws IOException {
+            if (writeNull(out, value)) {
+                return;
+            }
+            out.beginArray();
+            for (char element : value) {
+                out.value(String.valueOf(element));
+            }
+            out.endArray();
+        }
+    };
+}
@@ -0,0 +1,595 @@
+package com.cracker.code.cson.internal.bind;
+
+import com.cracker.code.cson.*;
+import com.cracker.code.cson.annotations.SerializedName;
+import com.cracker.code.cson.internal.ConstructorConstructor;
+import com.cracker.code.cson.internal.CsonTypes;
+import com.cracker.code.cson.internal.ObjectConstructor;
+import com.cracker.code.cson.internal.Primitives;
+import com.cracker.code.cson.reflect.TypeToken;
+import com.cracker.code.cson.stream.JsonEncodedName;
+import com.cracker.code.cson.stream.JsonNameSet;
+import com.cracker.code.cson.stream.JsonReader;
+import com.cracker.code.cson.stream.JsonToken;
+import com.cracker.code.cson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ *
+ * 反射型的的类型适配器工厂，适合所有的
+ * class instance of Object
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2021-04-02
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+public final class ReflectiveTypeAdapterFactory implements TypeAdapterFactory {
+
+    private final ConstructorConstructor constructorConstructor;
+    private final FieldNamingStrategy fieldNamingStrategy;
+    /**
+     * 为null时只用反射读写属性
+     */
+    private final FieldsClassGenerator generator;
+    private final boolean recordFieldOrderStats;
+
+    public ReflectiveTypeAdapterFactory(final ConstructorConstructor constructorConstructor,
+                                        final FieldNamingStrategy fieldNamingStrategy) {
+        this(constructorConstructor, fieldNamingStrategy, false, false);
+    }
+
+    /**
+     * @param generateAdapters 是否为每个类在运行时生成属性读写代码，见{@link CompiledFields}
+     * @param recordFieldOrderStats 是否统计按顺序预测属性名的命中次数，见{@link Cson#getFieldOrderStats()}
+     */
+    public ReflectiveTypeAdapterFactory(final ConstructorConstructor constructorConstructor,
+                                        final FieldNamingStrategy fieldNamingStrategy,
+                                        final boolean generateAdapters,
+                                        final boolean recordFieldOrderStats) {
+        this.constructorConstructor = constructorConstructor;
+        this.fieldNamingStrategy = fieldNamingStrategy;
+        this.generator = generateAdapters ? new FieldsClassGenerator() : null;
+        this.recordFieldOrderStats = recordFieldOrderStats;
+    }
+
+    private String getFieldName(Field f) {
+        return getFieldName(this.fieldNamingStrategy, f);
+    }
+
+    private String getFieldName(FieldNamingStrategy fieldNamingStrategy, Field f) {
+        final SerializedName serializedName = f.getAnnotation(SerializedName.class);
+        return (serializedName == null) ? fieldNamingStrategy.translateName(f) : serializedName.value();
+    }
+
+
+    @Override
+    public <T> TypeAdapter<T> create(Cson cson, TypeToken<T> type) {
+        Class<? super T> raw = type.getRawType();
+        // 把所有的类型都囊括
+        if (!Object.class.isAssignableFrom(raw)) {
+            return null;
+        }
+        Map<String, BoundField> boundFields = this.getBoundFields(cson, type, raw);
+        BoundField[] fields = boundFields.values().toArray(new BoundField[0]);
+        // 有CsonCreator或者是record时通过构造方法创建，不需要ObjectConstructor
+        CreatorBinding creator = CreatorBinding.create(raw, fields);
+        ObjectConstructor<T> constructor = creator == null ? this.constructorConstructor.get(type) : null;
+        CompiledFields compiled = this.generator == null ? null : this.generator.generate(raw, fields);
+        return new Adapter<T>(constructor, creator, boundFields, compiled, this.recordFieldOrderStats);
+    }
+
+
+    /**
+     * 自定义属性封装类
+     */
+    abstract static class BoundField {
+        String name;
+        /**
+         * 预先转义并加好引号的属性名，序列化时整块写出
+         */
+        final JsonEncodedName encodedName;
+        boolean serialized;
+        boolean deSerialized;
+        final Field field;
+        /**
+         * 属性的读写器，序列化时每个属性只读取一次
+         */
+        final FieldAccessor accessor;
+        final TypeAdapter<?> typeAdapter;
+
+        protected BoundField(String name, Field field, TypeAdapter<?> typeAdapter,
+                             boolean  serialized, boolean deSerialized) {
+            this.name = name;
+            this.encodedName = new JsonEncodedName(name);
+            this.serialized = serialized;
+            this.deSerialized = deSerialized;
+            this.field = field;
+            this.accessor = FieldAccessor.create(field);
+            this.typeAdapter = typeAdapter;
+        }
+
+        /**
+         * 执行write操作
+         * @param out JsonWriter
+         * @param fieldValue 通过accessor读出的属性值
+         * @throws IOException IOException
+         */
+        abstract void write(JsonWriter out, Object fieldValue) throws IOException;
+
+        /**
+         * 读取src的该属性并连同属性名一起写出，属性值是src自身时跳过
+         * @param out JsonWriter
+         * @param src Object
+         * @throws IOException IOException
+         * @throws IllegalAccessException IllegalAccessException
+         */
+        void serialize(JsonWriter out, Object src) throws IOException, IllegalAccessException {
+            Object fieldValue = this.accessor.get(src);
+            if (fieldValue != src) {
+                out.name(this.encodedName);
+                this.write(out, fieldValue);
+            }
+        }
+
+        /**
+         * 执行read操作
+         * @param in JsonReader
+         * @param src Object
+         * @throws IOException IOException
+         * @throws IllegalAccessException IllegalAccessException
+         */
+        abstract void read(JsonReader in, Object src) throws IOException, IllegalAccessException;
+
+        /**
+         * 执行read操作，尽量复用src中该属性现有的对象
+         * @param in JsonReader
+         * @param src Object
+         * @throws IOException IOException
+         * @throws IllegalAccessException IllegalAccessException
+         */
+        void readInto(JsonReader in, Object src) throws IOException, IllegalAccessException {
+            this.read(in, src);
+        }
+    }
+
+
+    public static final class Adapter<T> extends TypeAdapter<T> {
+        private final ObjectConstructor<T> constructor;
+        private final Map<String, BoundField> boundFields;
+        /**
+         * 与boundFields顺序一致，读取时按属性名的下标直接取BoundField
+         */
+        private final JsonNameSet names;
+        private final BoundField[] fields;
+        /**
+         * 运行时生成的属性读写代码，为null时使用fields
+         */
+        private final CompiledFields compiled;
+        /**
+         * 不为null时读完属性后通过构造方法创建对象，constructor为null
+         */
+        private final CreatorBinding creator;
+
+        /**
+         * 按顺序预测属性名的命中/未命中次数，每读完一个对象累加一次；没有开启统计时为null
+         */
+        private final LongAdder speculationHits;
+        private final LongAdder speculationMisses;
+
+        private Adapter(ObjectConstructor<T> constructor, CreatorBinding creator,
+                        Map<String, BoundField> boundFields, CompiledFields compiled, boolean recordStats) {
+            this.constructor = constructor;
+            this.creator = creator;
+            this.boundFields = boundFields;
+            this.names = new JsonNameSet(boundFields.keySet());
+            this.fields = boundFields.values().toArray(new BoundField[0]);
+            this.compiled = compiled;
+            this.speculationHits = recordStats ? new LongAdder() : null;
+            this.speculationMisses = recordStats ? new LongAdder() : null;
+        }
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            if (this.creator != null) {
+                return this.readWithCreator(in);
+            }
+            T instance = this.constructor.construct();
+            this.readFields(in, instance, false);
+            return instance;
+        }
+
+        /**
+         * 覆盖target中json出现的属性，属性现有的对象、集合通过readInto复用。
+         * 通过构造方法创建的类型不能复用，与read一致
+         */
+        @Override
+        public T readInto(JsonReader in, T target) throws IOException {
+            if (target == null || this.creator != null) {
+                return this.read(in);
+            }
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            this.readFields(in, target, true);
+            return target;
+        }
+
+        private void readFields(JsonReader in, T instance, boolean reuse) throws IOException {
+            int hits = 0;
+            int misses = 0;
+            try {
+                in.beginObject();
+                // 输入通常按getBoundFields的顺序排列属性，先假设下一个属性紧跟在上一个之后
+                int expected = 0;
+                while (in.hasNext()) {
+                    final int index = in.nextName(this.names, expected);
+                    if (index == expected) {
+                        hits++;
+                    } else {
+                        misses++;
+                    }
+                    final BoundField field = index == -1 ? null : this.fields[index];
+                    if (field == null || !field.deSerialized) {
+                        in.skipValue();
+                    }
+                    else if (reuse) {
+                        field.readInto(in, instance);
+                    }
+                    else if (this.compiled != null) {
+                        this.compiled.read(in, instance, index);
+                    }
+                    else {
+                        field.read(in, instance);
+                    }
+                    expected = index + 1;
+                }
+            }
+            catch (IllegalStateException e) {
+                throw new JsonSyntaxException(e);
+            }
+            catch (IllegalAccessException e2) {
+                throw new AssertionError(e2);
+            }
+            in.endObject();
+            this.recordSpeculation(hits, misses);
+        }
+
+        /**
+         * 属性值先按下标读到临时数组，读完后调用一次构造方法。
+         * 不是构造参数的属性在创建后设置，其中final的属性和json中为null的属性保持构造后的值
+         */
+        @SuppressWarnings("unchecked")
+        private T readWithCreator(JsonReader in) throws IOException {
+            Object[] slots = new Object[this.fields.length];
+            int hits = 0;
+            int misses = 0;
+            try {
+                in.beginObject();
+                int expected = 0;
+                while (in.hasNext()) {
+                    final int index = in.nextName(this.names, expected);
+                    if (index == expected) {
+                        hits++;
+                    } else {
+                        misses++;
+                    }
+                    final BoundField field = index == -1 ? null : this.fields[index];
+                    if (field == null || !field.deSerialized) {
+                        in.skipValue();
+                    } else {
+                        slots[index] = field.typeAdapter.read(in);
+                    }
+                    expected = index + 1;
+                }
+            }
+            catch (IllegalStateException e) {
+                throw new JsonSyntaxException(e);
+            }
+            in.endObject();
+            this.recordSpeculation(hits, misses);
+
+            T instance = (T) this.creator.newInstance(slots);
+            try {
+                for (int i = 0; i < slots.length; i++) {
+                    if (slots[i] != null && !this.creator.isParameter(i)
+                            && !Modifier.isFinal(this.fields[i].field.getModifiers())) {
+                        this.fields[i].accessor.set(instance, slots[i]);
+                    }
+                }
+            }
+            catch (IllegalAccessException e) {
+                throw new AssertionError(e);
+            }
+            return instance;
+        }
+
+        private void recordSpeculation(int hits, int misses) {
+            if (this.speculationHits != null) {
+                this.speculationHits.add(hits);
+                this.speculationMisses.add(misses);
+            }
+        }
+
+        /**
+         * 供{@link Cson#getFieldOrderStats()}汇总
+         * @return 没有开启统计时返回null
+         */
+        public FieldOrderStats fieldOrderStats(Type type) {
+            if (this.speculationHits == null) {
+                return null;
+            }
+            return new FieldOrderStats(type, this.speculationHits.sum(), this.speculationMisses.sum());
+        }
+
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+            if (value == null || value instanceof JsonNull) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            if (this.compiled != null) {
+                this.compiled.write(out, value);
+                out.endObject();
+                return;
+            }
+            try {
+                for (final BoundField boundField : this.fields) {
+                    if (boundField.serialized) {
+                        boundField.serialize(out, value);
+                    }
+                }
+            }
+            catch (IllegalAccessException e) {
+                throw new AssertionError();
+            }
+            out.endObject();
+        }
+    }
+
+    private Map<String, BoundField> getBoundFields(Cson context, TypeToken<?> type, Class<?> raw) {
+        Map<String, BoundField> result = new LinkedHashMap<>();
+        if (raw.isInterface()) {
+            return result;
+        }
+        Type declaredType = type.getType();
+        while (raw != Object.class) {
+            Field[] fields = raw.getDeclaredFields();
+            for (Field field : fields) {
+                // 测试可删。这里先忽略
+//                final boolean serialize = this.excludeField(field, true);
+//                final boolean deserialize = this.excludeField(field, false);
+                field.setAccessible(true);
+                Type fieldType = CsonTypes.resolve(type.getType(), raw, field.getGenericType());
+                BoundField boundField = this.createBoundField(context, field, this.getFieldName(field), TypeToken.get(fieldType));
+                BoundField previous = result.put(boundField.name, boundField);
+                if (previous != null) {
+                    throw new IllegalArgumentException(declaredType + " declares multiple JSON fields named " + previous.name);
+                }
+            }
+            type = TypeToken.get(CsonTypes.resolve(type.getType(), raw, raw.getGenericSuperclass()));
+            raw = type.getRawType();
+        }
+        return result;
+    }
+
+    private BoundField createBoundField(Cson context, Field field, String name,
+                                        TypeToken<?> fieldType) {
+        boolean isPrimitive = Primitives.isPrimitive(fieldType.getRawType());
+        TypeAdapter<?> typeAdapter = this.getFieldAdapter(context, field, fieldType);
+        if (isPrimitive) {
+            BoundField primitive = createPrimitiveBoundField(field, name, typeAdapter);
+            if (primitive != null) {
+                return primitive;
+            }
+        }
+        // 按属性值的实际类型选择TypeAdapter，每个属性只创建一次
+        final TypeAdapter<?> writeAdapter = TypeAdapterRuntimeTypeWrapper.create(context, typeAdapter, fieldType.getType());
+        return new BoundField(name, field, typeAdapter, true, true) {
+
+            @Override
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            void write(JsonWriter out, Object fieldValue) throws IOException {
+                ((TypeAdapter) writeAdapter).write(out, fieldValue);
+            }
+
+            @Override
+            void read(JsonReader in, Object src) throws IOException, IllegalAccessException {
+                Object fieldValue = this.typeAdapter.read(in);
+                if (fieldValue != null || !isPrimitive) {
+                    this.accessor.set(src, fieldValue);
+                }
+            }
+
+            @Override
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            void readInto(JsonReader in, Object src) throws IOException, IllegalAccessException {
+                Object current = this.accessor.get(src);
+                Object fieldValue = ((TypeAdapter) this.typeAdapter).readInto(in, current);
+                if (fieldValue != current && (fieldValue != null || !isPrimitive)) {
+                    this.accessor.set(src, fieldValue);
+                }
+            }
+        };
+    }
+
+    /**
+     * 基本类型属性使用内置的TypeAdapter时，按属性类型直接读写：读取时调用nextInt、nextLong、nextDouble、nextBoolean，
+     * 写出时调用value(long)、value(double)、value(boolean)，整个过程不装箱。
+     * 与内置TypeAdapter的行为一致：json中的null不修改属性，非有限的浮点数交给value(Number)按lenient处理
+     * @return 不是内置的TypeAdapter时返回null
+     */
+    private static BoundField createPrimitiveBoundField(Field field, String name, TypeAdapter<?> typeAdapter) {
+        Class<?> type = field.getType();
+        if ((type == int.class && typeAdapter == TypeAdapters.INTEGER)
+                || (type == short.class && typeAdapter == TypeAdapters.SHORT)
+                || (type == byte.class && typeAdapter == TypeAdapters.BYTE)) {
+            return new PrimitiveBoundField(name, field, typeAdapter) {
+                @Override
+                void serialize(JsonWriter out, Object src) throws IOException, IllegalAccessException {
+                    out.name(this.encodedName).value(this.accessor.getLong(src));
+                }
+                @Override
+                void readValue(JsonReader in, Object src) throws IOException, IllegalAccessException {
+                    long value;
+                    try {
+                        value = in.nextInt();
+                    } catch (NumberFormatException e) {
+                        throw new JsonSyntaxException(e);
+                    }
+                    this.accessor.setLong(src, value);
+                }
+            };
+        }
+        if (type == long.class && typeAdapter == TypeAdapters.LONG) {
+            return new PrimitiveBoundField(name, field, typeAdapter) {
+                @Override
+                void serialize(JsonWriter out, Object src) throws IOException, IllegalAccessException {
+                    out.name(this.encodedName).value(this.accessor.getLong(src));
+                }
+                @Override
+                void readValue(JsonReader in, Object src) throws IOException, IllegalAccessException {
+                    long value;
+                    try {
+                        value = in.nextLong();
+                    } catch (NumberFormatException e) {
+                        throw new JsonSyntaxException(e);
+                    }
+                    this.accessor.setLong(src, value);
+                }
+            };
+        }
+        if (type == double.class && typeAdapter == TypeAdapters.DOUBLE) {
+            return new PrimitiveBoundField(name, field, typeAdapter) {
+                @Override
+                void serialize(JsonWriter out, Object src) throws IOException, IllegalAccessException {
+                    double value = this.accessor.getDouble(src);
+                    out.name(this.encodedName);
+                    if (Double.isNaN(value) || Double.isInfinite(value)) {
+                        out.value((Number) value);
+                    } else {
+                        out.value(value);
+                    }
+                }
+                @Override
+                void readValue(JsonReader in, Object src) throws IOException, IllegalAccessException {
+                    this.accessor.setDouble(src, in.nextDouble());
+                }
+            };
+        }
+        if (type == float.class && typeAdapter == TypeAdapters.FLOAT) {
+            return new PrimitiveBoundField(name, field, typeAdapter) {
+                @Override
+                void serialize(JsonWriter out, Object src) throws IOException, IllegalAccessException {
+                    float value = (float) this.accessor.getDouble(src);
+                    out.name(this.encodedName);
+                    if (Float.isNaN(value) || Float.isInfinite(value)) {
+                        out.value((Number) value);
+                    } else {
+                        out.value(value);
+                    }
+                }
+                @Override
+                void readValue(JsonReader in, Object src) throws IOException, IllegalAccessException {
+                    this.accessor.setDouble(src, (float) in.nextDouble());
+                }
+            };
+        }
+        if (type == boolean.class && typeAdapter == TypeAdapters.BOOLEAN) {
+            return new PrimitiveBoundField(name, field, typeAdapter) {
+                @Override
+                void serialize(JsonWriter out, Object src) throws IOException, IllegalAccessException {
+                    out.name(this.encodedName).value(this.accessor.getBoolean(src));
+                }
+                @Override
+                void readValue(JsonReader in, Object src) throws IOException, IllegalAccessException {
+                    boolean value = in.peek() == JsonToken.STRING
+                            ? Boolean.parseBoolean(in.nextString()) : in.nextBoolean();
+                    this.accessor.setBoolean(src, value);
+                }
+            };
+        }
+        if (type == char.class && typeAdapter == TypeAdapters.CHARACTER) {
+            return new PrimitiveBoundField(name, field, typeAdapter) {
+                @Override
+                void serialize(JsonWriter out, Object src) throws IOException, IllegalAccessException {
+                    out.name(this.encodedName).value(String.valueOf((char) this.accessor.getLong(src)));
+                }
+                @Override
+                void readValue(JsonReader in, Object src) throws IOException, IllegalAccessException {
+                    String str = in.nextString();
+                    if (str.length() != 1) {
+                        throw new JsonSyntaxException("Expecting character, got: " + str);
+                    }
+                    this.accessor.setLong(src, str.charAt(0));
+                }
+            };
+        }
+        return null;
+    }
+
+    /**
+     * 基本类型属性的BoundField，子类按属性类型实现serialize和readValue
+     */
+    private abstract static class PrimitiveBoundField extends BoundField {
+
+        PrimitiveBoundField(String name, Field field, TypeAdapter<?> typeAdapter) {
+            super(name, field, typeAdapter, true, true);
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        void write(JsonWriter out, Object fieldValue) throws IOException {
+            // 只在已经装箱的情况下使用，例如CompiledFields.writeValue
+            ((TypeAdapter) this.typeAdapter).write(out, fieldValue);
+        }
+
+        @Override
+        final void read(JsonReader in, Object src) throws IOException, IllegalAccessException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return;
+            }
+            this.readValue(in, src);
+        }
+
+        /**
+         * 读取不为null的值并设置到src
+         * @param in JsonReader
+         * @param src Object
+         * @throws IOException IOException
+         * @throws IllegalAccessException IllegalAccessException
+         */
+        abstract void readValue(JsonReader in, Object src) throws IOException, IllegalAccessException;
+    }
+
+
+    // 测试可删，先屏蔽JsonAdapter注解
+    private TypeAdapter<?> getFieldAdapter(final Cson cson, final Field field, final TypeToken<?> fieldType) {
+//        final JsonAdapter annotation = field.getAnnotation(JsonAdapter.class);
+//        if (annotation != null) {
+//            final TypeAdapter<?> adapter = JsonAdapterAnnotationTypeAdapterFactory.getTypeAdapter(this.constructorConstructor, gson, fieldType, annotation);
+//            if (adapter != null) {
+//                return adapter;
+//            }
+//        }
+        return cson.getAdapter(fieldType);
+    }
+
+}
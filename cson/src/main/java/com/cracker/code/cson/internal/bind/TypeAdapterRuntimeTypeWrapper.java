@@ -0,0 +1,148 @@
+package com.cracker.code.cson.internal.bind;
+
+import com.cracker.code.cson.Cson;
+import com.cracker.code.cson.TypeAdapter;
+import com.cracker.code.cson.reflect.TypeToken;
+import com.cracker.code.cson.stream.JsonReader;
+import com.cracker.code.cson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.Arrays;
+
+/**
+ *
+ * 运行时适配器包装类
+ *
+ * 按值的实际类型选择TypeAdapter。选择结果按value.getClass()缓存在包装类里(最多POLYMORPHIC_LIMIT个类型)，
+ * 不必每次都创建TypeToken并查找Cson的缓存；声明类型就能决定结果的，由{@link #create}直接返回delegate
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2021-04-02
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+public final class TypeAdapterRuntimeTypeWrapper<T> extends TypeAdapter<T> {
+
+    /**
+     * 缓存的实际类型个数上限，超过后不再缓存新的类型，每次查找Cson的缓存
+     */
+    private static final int POLYMORPHIC_LIMIT = 4;
+
+    private final Cson context;
+    private final TypeAdapter<T> delegate;
+    private final Type type;
+    /**
+     * 不可变，整体替换。并发写入时可能丢掉一个缓存项，下次重新查找即可
+     */
+    private volatile Cache cache = Cache.EMPTY;
+
+    TypeAdapterRuntimeTypeWrapper(final Cson context, final TypeAdapter<T> delegate, final Type type) {
+        this.context = context;
+        this.delegate = delegate;
+        this.type = type;
+    }
+
+    /**
+     * 声明类型是基本类型、final类或参数化类型时，值的实际类型不会改变选择结果，直接返回delegate。
+     * CsonProcessor生成的TypeAdapter也通过它写出属性，与反射绑定的结果一致
+     * @param context Cson
+     * @param delegate 声明类型的TypeAdapter
+     * @param type 声明类型
+     * @return TypeAdapter
+     */
+    public static <T> TypeAdapter<T> create(final Cson context, final TypeAdapter<T> delegate, final Type type) {
+        if (type instanceof TypeVariable) {
+            return new TypeAdapterRuntimeTypeWrapper<>(context, delegate, type);
+        }
+        if (!(type instanceof Class)) {
+            return delegate;
+        }
+        Class<?> raw = (Class<?>) type;
+        if (raw.isPrimitive() || Modifier.isFinal(raw.getModifiers())) {
+            // 基本类型的值装箱后查到的仍然是同一个TypeAdapter
+            return delegate;
+        }
+        return new TypeAdapterRuntimeTypeWrapper<>(context, delegate, type);
+    }
+
+
+    @Override
+    public T read(JsonReader in) throws IOException {
+        return this.delegate.read(in);
+    }
+
+    @Override
+    public T readInto(JsonReader in, T target) throws IOException {
+        return this.delegate.readInto(in, target);
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void write(JsonWriter out, final T value) throws IOException {
+        TypeAdapter chosen = this.delegate;
+        if (value != null && value.getClass() != this.type) {
+            chosen = this.chooseFor(value.getClass());
+        }
+        chosen.write(out, value);
+    }
+
+    private TypeAdapter<?> chooseFor(Class<?> runtimeType) {
+        Cache current = this.cache;
+        TypeAdapter<?> chosen = current.get(runtimeType);
+        if (chosen != null) {
+            return chosen;
+        }
+        final TypeAdapter<?> runtimeTypeAdapter = this.context.getAdapter(TypeToken.get(runtimeType));
+        if (!(runtimeTypeAdapter instanceof ReflectiveTypeAdapterFactory.Adapter)) {
+            chosen = runtimeTypeAdapter;
+        } else if (!(this.delegate instanceof ReflectiveTypeAdapterFactory.Adapter)) {
+            chosen = this.delegate;
+        } else {
+            chosen = runtimeTypeAdapter;
+        }
+        if (current.size() < POLYMORPHIC_LIMIT) {
+            this.cache = current.with(runtimeType, chosen);
+        }
+        return chosen;
+    }
+
+    private static final class Cache {
+        static final Cache EMPTY = new Cache(new Class<?>[0], new TypeAdapter<?>[0]);
+
+        private final Class<?>[] types;
+        private final TypeAdapter<?>[] adapters;
+
+        private Cache(Class<?>[] types, TypeAdapter<?>[] adapters) {
+            this.types = types;
+            this.adapters = adapters;
+        }
+
+        int size() {
+            return this.types.length;
+        }
+
+        TypeAdapter<?> get(Class<?> type) {
+            Class<?>[] types = this.types;
+            for (int i = 0; i < types.length; i++) {
+                if (types[i] == type) {
+                    return this.adapters[i];
+                }
+            }
+            return null;
+        }
+
+        Cache with(Class<?> type, TypeAdapter<?> adapter) {
+            int n = this.types.length;
+            Class<?>[] types = Arrays.copyOf(this.types, n + 1);
+            TypeAdapter<?>[] adapters = Arrays.copyOf(this.adapters, n + 1);
+            types[n] = type;
+            adapters[n] = adapter;
+            return new Cache(types, adapters);
+        }
+    }
+}
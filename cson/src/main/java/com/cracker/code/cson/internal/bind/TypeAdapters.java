@@ -14,6 +14,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  *
@@ -316,6 +317,221 @@ public final class TypeAdapters {
 
 
 
+    /*
+     * 其余基本类型 TypeAdapter begin ----------------------->
+     */
+
+    public static final TypeAdapter<Boolean> BOOLEAN = new TypeAdapter<Boolean>() {
+        @Override
+        public Boolean read(JsonReader in) throws IOException {
+            JsonToken peek = in.peek();
+            if (peek == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            if (peek == JsonToken.STRING) {
+                // 宽松地接受"true"、"false"
+                return Boolean.parseBoolean(in.nextString());
+            }
+            return in.nextBoolean();
+        }
+        @Override
+        public void write(JsonWriter out, Boolean value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.value(value.booleanValue());
+        }
+    };
+
+    public static final TypeAdapterFactory BOOLEAN_FACTORY
+            = newFactory(boolean.class, Boolean.class, BOOLEAN);
+
+    public static final TypeAdapter<Number> BYTE = new TypeAdapter<Number>() {
+        @Override
+        public Number read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            try {
+                return (byte) in.nextInt();
+            } catch (NumberFormatException e) {
+                throw new JsonSyntaxException(e);
+            }
+        }
+        @Override
+        public void write(JsonWriter out, Number value) throws IOException {
+            out.value(value);
+        }
+    };
+
+    public static final TypeAdapterFactory BYTE_FACTORY
+            = newFactory(byte.class, Byte.class, BYTE);
+
+    public static final TypeAdapter<Number> SHORT = new TypeAdapter<Number>() {
+        @Override
+        public Number read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            try {
+                return (short) in.nextInt();
+            } catch (NumberFormatException e) {
+                throw new JsonSyntaxException(e);
+            }
+        }
+        @Override
+        public void write(JsonWriter out, Number value) throws IOException {
+            out.value(value);
+        }
+    };
+
+    public static final TypeAdapterFactory SHORT_FACTORY
+            = newFactory(short.class, Short.class, SHORT);
+
+    public static final TypeAdapter<Number> LONG = new TypeAdapter<Number>() {
+        @Override
+        public Number read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            try {
+                return in.nextLong();
+            } catch (NumberFormatException e) {
+                throw new JsonSyntaxException(e);
+            }
+        }
+        @Override
+        public void write(JsonWriter out, Number value) throws IOException {
+            out.value(value);
+        }
+    };
+
+    public static final TypeAdapterFactory LONG_FACTORY
+            = newFactory(long.class, Long.class, LONG);
+
+    public static final TypeAdapter<Number> FLOAT = new TypeAdapter<Number>() {
+        @Override
+        public Number read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            return (float) in.nextDouble();
+        }
+        @Override
+        public void write(JsonWriter out, Number value) throws IOException {
+            out.value(value);
+        }
+    };
+
+    public static final TypeAdapterFactory FLOAT_FACTORY
+            = newFactory(float.class, Float.class, FLOAT);
+
+    public static final TypeAdapter<Number> DOUBLE = new TypeAdapter<Number>() {
+        @Override
+        public Number read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            return in.nextDouble();
+        }
+        @Override
+        public void write(JsonWriter out, Number value) throws IOException {
+            out.value(value);
+        }
+    };
+
+    public static final TypeAdapterFactory DOUBLE_FACTORY
+            = newFactory(double.class, Double.class, DOUBLE);
+
+    public static final TypeAdapter<Character> CHARACTER = new TypeAdapter<Character>() {
+        @Override
+        public Character read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            String str = in.nextString();
+            if (str.length() != 1) {
+                throw new JsonSyntaxException("Expecting character, got: " + str);
+            }
+            return str.charAt(0);
+        }
+        @Override
+        public void write(JsonWriter out, Character value) throws IOException {
+            out.value(value == null ? null : String.valueOf(value));
+        }
+    };
+
+    public static final TypeAdapterFactory CHARACTER_FACTORY
+            = newFactory(char.class, Character.class, CHARACTER);
+    /*
+     * <----------------------- 其余基本类型 TypeAdapter end
+     */
+
+
+
+    /*
+     * Base64 TypeAdapter begin ----------------------->
+     */
+
+    /**
+     * byte[]写成Base64字符串，由CsonBuilder.encodeBinaryAsBase64()启用，默认仍写成数字数组
+     */
+    public static final TypeAdapter<byte[]> BYTE_ARRAY_BASE64 = new TypeAdapter<byte[]>() {
+        @Override
+        public byte[] read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            try {
+                return in.nextBase64();
+            } catch (IllegalStateException e) {
+                throw new JsonSyntaxException(e);
+            }
+        }
+        @Override
+        public void write(JsonWriter out, byte[] value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.valueBase64(value, 0, value.length);
+        }
+    };
+
+    public static final TypeAdapterFactory BYTE_ARRAY_BASE64_FACTORY = newFactory(byte[].class, BYTE_ARRAY_BASE64);
+
+    /**
+     * 写出position到limit之间的字节；读取时返回包装解码结果的堆内ByteBuffer
+     */
+    public static final TypeAdapter<ByteBuffer> BYTE_BUFFER_BASE64 = new TypeAdapter<ByteBuffer>() {
+        @Override
+        public ByteBuffer read(JsonReader in) throws IOException {
+            byte[] bytes = BYTE_ARRAY_BASE64.read(in);
+            return bytes == null ? null : ByteBuffer.wrap(bytes);
+        }
+        @Override
+        public void write(JsonWriter out, ByteBuffer value) throws IOException {
+            out.valueBase64(value);
+        }
+    };
+
+    public static final TypeAdapterFactory BYTE_BUFFER_BASE64_FACTORY
+            = newTypeHierarchyFactory(ByteBuffer.class, BYTE_BUFFER_BASE64);
+    /*
+     * <----------------------- Base64 TypeAdapter end
+     */
+
+
+
     public static <TT> TypeAdapterFactory newFactory(
             final Class<TT> unboxed, final Class<TT> boxed, final TypeAdapter<? super TT> typeAdapter) {
         return new TypeAdapterFactory() {
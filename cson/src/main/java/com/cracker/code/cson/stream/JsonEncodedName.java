@@ -0,0 +1,42 @@
+package com.cracker.code.cson.stream;
+
+/**
+ *
+ * JsonEncodedName：预先转义并加好引号的属性名
+ *
+ * 配合{@link JsonWriter#name(JsonEncodedName)}使用，写出时整块复制，不再逐字符转义。
+ * 普通转义和htmlSafe转义各保存一份，分隔符":"仍由JsonWriter按缩进设置输出。
+ * 构造完成后不再修改，可以在多个线程间共享
+ *
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+public final class JsonEncodedName {
+
+    private final String name;
+    final char[] quoted;
+    final char[] htmlSafeQuoted;
+
+    public JsonEncodedName(String name) {
+        if (name == null) {
+            throw new NullPointerException("name == null");
+        }
+        this.name = name;
+        this.quoted = JsonWriter.quote(name, false);
+        this.htmlSafeQuoted = JsonWriter.quote(name, true);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
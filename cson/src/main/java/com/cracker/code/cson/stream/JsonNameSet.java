@@ -0,0 +1,134 @@
+package com.cracker.code.cson.stream;
+
+import java.util.Collection;
+
+/**
+ *
+ * JsonNameSet：预先编译好的一组属性名
+ *
+ * 配合{@link JsonReader#nextName(JsonNameSet)}使用，JsonReader直接拿buffer中的字符与这组名字比较，
+ * {@link Utf8JsonReader}直接拿ASCII字节比较，返回匹配到的下标，不创建String，也不经过Map查找。
+ * 构造完成后不再修改，可以在多个线程间共享
+ *
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+public final class JsonNameSet {
+
+    private final String[] names;
+
+    /**
+     * 名字中不含反斜杠、引号和换行，可以直接与未转义的buffer内容逐字比较
+     */
+    private final boolean[] literal;
+
+    /**
+     * 开放寻址的哈希表，存放names的下标加1，0表示空槽
+     */
+    private final int[] slots;
+
+    public JsonNameSet(Collection<String> names) {
+        this(names.toArray(new String[0]));
+    }
+
+    public JsonNameSet(String... names) {
+        this.names = names.clone();
+        int capacity = 4;
+        while (capacity < this.names.length * 2) {
+            capacity <<= 1;
+        }
+        this.slots = new int[capacity];
+        this.literal = new boolean[this.names.length];
+        int mask = capacity - 1;
+        for (int i = 0; i < this.names.length; i++) {
+            String name = this.names[i];
+            literal[i] = name.indexOf('\\') == -1 && name.indexOf('"') == -1
+                    && name.indexOf('\'') == -1 && name.indexOf('\n') == -1;
+            if (indexOf(name) != -1) {
+                throw new IllegalArgumentException("duplicate name " + name);
+            }
+            int slot = mix(name.hashCode()) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = i + 1;
+        }
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String name(int index) {
+        return names[index];
+    }
+
+    boolean isLiteral(int index) {
+        return literal[index];
+    }
+
+    /**
+     * 查找名字的下标
+     * @param name 属性名
+     * @return 下标，不存在时返回-1
+     */
+    public int indexOf(String name) {
+        int mask = slots.length - 1;
+        int hash = name.hashCode();
+        int slot = mix(hash) & mask;
+        int entry;
+        while ((entry = slots[slot]) != 0) {
+            String candidate = names[entry - 1];
+            if (candidate.hashCode() == hash && candidate.equals(name)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * 查找与buffer[start, start + length)内容相同的名字
+     * @param hash 按String.hashCode算法计算的哈希值
+     * @return 下标，不存在时返回-1
+     */
+    int indexOf(char[] buffer, int start, int length, int hash) {
+        int mask = slots.length - 1;
+        int slot = mix(hash) & mask;
+        int entry;
+        while ((entry = slots[slot]) != 0) {
+            String candidate = names[entry - 1];
+            if (candidate.hashCode() == hash && NameTable.matches(candidate, buffer, start, length)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * 与{@link #indexOf(char[], int, int, int)}相同，buffer[start, start + length)是ASCII字节
+     */
+    int indexOf(byte[] buffer, int start, int length, int hash) {
+        int mask = slots.length - 1;
+        int slot = mix(hash) & mask;
+        int entry;
+        while ((entry = slots[slot]) != 0) {
+            String candidate = names[entry - 1];
+            if (candidate.hashCode() == hash && NameTable.matches(candidate, buffer, start, length)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+}
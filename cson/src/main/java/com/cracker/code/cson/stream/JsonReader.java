@@ -3,6 +3,8 @@ package com.cracker.code.cson.stream;
 
 
 
+import com.cracker.code.cson.internal.Base64Decoder;
+import com.cracker.code.cson.internal.DoubleParser;
 import com.cracker.code.cson.internal.JsonReaderInternalAccess;
 import com.cracker.code.cson.internal.bind.JsonTreeReader;
 
@@ -10,6 +12,9 @@ import java.io.Closeable;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
 
 /**
  *
@@ -24,41 +29,41 @@ import java.io.Reader;
  */
 public class JsonReader implements Closeable {
     /** 此解析器允许的唯一非执行前缀  */
-    private static final char[] NON_EXECUTE_PREFIX = ")]}'\n".toCharArray();
-    private static final long MIN_INCOMPLETE_INTEGER = Long.MIN_VALUE / 10;
-
-    private static final int PEEKED_NONE = 0;
-    private static final int PEEKED_BEGIN_OBJECT = 1;
-    private static final int PEEKED_END_OBJECT = 2;
-    private static final int PEEKED_BEGIN_ARRAY = 3;
-    private static final int PEEKED_END_ARRAY = 4;
-    private static final int PEEKED_TRUE = 5;
-    private static final int PEEKED_FALSE = 6;
-    private static final int PEEKED_NULL = 7;
-    private static final int PEEKED_SINGLE_QUOTED = 8;
-    private static final int PEEKED_DOUBLE_QUOTED = 9;
-    private static final int PEEKED_UNQUOTED = 10;
+    static final char[] NON_EXECUTE_PREFIX = ")]}'\n".toCharArray();
+    static final long MIN_INCOMPLETE_INTEGER = Long.MIN_VALUE / 10;
+
+    static final int PEEKED_NONE = 0;
+    static final int PEEKED_BEGIN_OBJECT = 1;
+    static final int PEEKED_END_OBJECT = 2;
+    static final int PEEKED_BEGIN_ARRAY = 3;
+    static final int PEEKED_END_ARRAY = 4;
+    static final int PEEKED_TRUE = 5;
+    static final int PEEKED_FALSE = 6;
+    static final int PEEKED_NULL = 7;
+    static final int PEEKED_SINGLE_QUOTED = 8;
+    static final int PEEKED_DOUBLE_QUOTED = 9;
+    static final int PEEKED_UNQUOTED = 10;
     /** 返回时，字符串值存储在peekedString中。 */
-    private static final int PEEKED_BUFFERED = 11;
-    private static final int PEEKED_SINGLE_QUOTED_NAME = 12;
-    private static final int PEEKED_DOUBLE_QUOTED_NAME = 13;
-    private static final int PEEKED_UNQUOTED_NAME = 14;
+    static final int PEEKED_BUFFERED = 11;
+    static final int PEEKED_SINGLE_QUOTED_NAME = 12;
+    static final int PEEKED_DOUBLE_QUOTED_NAME = 13;
+    static final int PEEKED_UNQUOTED_NAME = 14;
     /** 当返回这个值时，整数值被存储在peekedLong中。 */
-    private static final int PEEKED_LONG = 15;
-    private static final int PEEKED_NUMBER = 16;
-    private static final int PEEKED_EOF = 17;
+    static final int PEEKED_LONG = 15;
+    static final int PEEKED_NUMBER = 16;
+    static final int PEEKED_EOF = 17;
 
     /** 解析数字时的机器状态 */
-    private static final int NUMBER_CHAR_NONE = 0;
-    private static final int NUMBER_CHAR_SIGN = 1;
-    private static final int NUMBER_CHAR_DIGIT = 2;
-    private static final int NUMBER_CHAR_DECIMAL = 3;
-    private static final int NUMBER_CHAR_FRACTION_DIGIT = 4;
-    private static final int NUMBER_CHAR_EXP_E = 5;
-    private static final int NUMBER_CHAR_EXP_SIGN = 6;
-    private static final int NUMBER_CHAR_EXP_DIGIT = 7;
-
-    /** The input JSON. */
+    static final int NUMBER_CHAR_NONE = 0;
+    static final int NUMBER_CHAR_SIGN = 1;
+    static final int NUMBER_CHAR_DIGIT = 2;
+    static final int NUMBER_CHAR_DECIMAL = 3;
+    static final int NUMBER_CHAR_FRACTION_DIGIT = 4;
+    static final int NUMBER_CHAR_EXP_E = 5;
+    static final int NUMBER_CHAR_EXP_SIGN = 6;
+    static final int NUMBER_CHAR_EXP_DIGIT = 7;
+
+    /** The input JSON. 直接读取内存中的char[]、由子类读取输入时为null */
     private final Reader in;
 
     /** True to accept non-spec compliant JSON */
@@ -69,42 +74,128 @@ public class JsonReader implements Closeable {
      * 这样我们就可以创建字符串而不需要中间的StringBuilder。
      * 我们直接从这个缓冲区解码文字，所以它必须至少是
      * 最长的令牌，可以作为一个数字报告。
+     *
+     * 读取内存中的char[]时，buffer直接就是该数组，pos到limit覆盖整个文档，不再需要填充。
+     * 由子类读取输入时为null，pos、limit、lineStart指向子类自己的缓冲区
      */
-    private final char[] buffer = new char[1024];
-    private int pos = 0;
-    private int limit = 0;
+    private final char[] buffer;
+    int pos = 0;
+    int limit = 0;
 
-    private int lineNumber = 0;
-    private int lineStart = 0;
+    int lineNumber = 0;
+    int lineStart = 0;
 
-    private int peeked = PEEKED_NONE;
+    int peeked = PEEKED_NONE;
 
 
-    private long peekedLong;
+    long peekedLong;
 
-    private int peekedNumberLength;
+    int peekedNumberLength;
 
-    private String peekedString;
+    String peekedString;
 
+    /**
+     * nextStringAsReader返回的Reader读完或关闭之前，为当前字符串的引号，否则为0
+     */
+    char streamingQuote;
+
+    /**
+     * 属性名符号表，第一次读取属性名时创建
+     */
+    NameTable nameTable;
 
-    private int[] stack = new int[32];
-    private int stackSize = 0;
+
+    int[] stack = new int[32];
+    int stackSize = 0;
     {
         stack[stackSize++] = JsonScope.EMPTY_DOCUMENT;
     }
 
 
-    private String[] pathNames = new String[32];
-    private int[] pathIndices = new int[32];
+    String[] pathNames = new String[32];
+    int[] pathIndices = new int[32];
+
 
+    /**
+     * 供自己读取输入的子类使用，不分配缓冲区。子类要覆盖所有读取字符的方法(nextNonWhitespace、fillBuffer等)，
+     * 或者像JsonTreeReader一样覆盖所有读取token的public方法
+     */
+    protected JsonReader() {
+        this.in = null;
+        this.buffer = null;
+    }
 
     public JsonReader(Reader in) {
         if (in == null) {
             throw new NullPointerException("in == null");
         }
         this.in = in;
+        this.buffer = new char[1024];
+    }
+
+    /**
+     * 直接在给定的char数组上解析，不复制、不分片填充。解析期间调用方不能修改该数组
+     * @param in json chars
+     * @param offset 起始下标
+     * @param length 长度
+     */
+    public JsonReader(char[] in, int offset, int length) {
+        if (in == null) {
+            throw new NullPointerException("in == null");
+        }
+        if (offset < 0 || length < 0 || offset + length > in.length) {
+            throw new IndexOutOfBoundsException("offset=" + offset + ", length=" + length);
+        }
+        this.in = null;
+        this.buffer = in;
+        this.pos = offset;
+        this.limit = offset + length;
+        this.lineStart = offset;
+        // consume an optional byte order mark (BOM) if it exists
+        if (pos < limit && buffer[pos] == '\ufeff') {
+            pos++;
+            lineStart++;
+        }
     }
 
+    public JsonReader(char[] in) {
+        this(in, 0, in.length);
+    }
+
+    /**
+     * 解析内存中已有的字符序列。String等只做一次整体拷贝，带数组的CharBuffer则直接使用其数组
+     * @param in json chars
+     */
+    public JsonReader(CharSequence in) {
+        this(chars(in));
+    }
+
+    private JsonReader(CharBuffer in) {
+        this(in.array(), in.arrayOffset() + in.position(), in.remaining());
+    }
+
+    private static CharBuffer chars(CharSequence in) {
+        if (in == null) {
+            throw new NullPointerException("in == null");
+        }
+        if (in instanceof CharBuffer && ((CharBuffer) in).hasArray()) {
+            return (CharBuffer) in;
+        }
+        int length = in.length();
+        char[] chars = new char[length];
+        if (in instanceof String) {
+            ((String) in).getChars(0, length, chars, 0);
+        } else if (in instanceof StringBuilder) {
+            ((StringBuilder) in).getChars(0, length, chars, 0);
+        } else {
+            for (int i = 0; i < length; i++) {
+                chars[i] = in.charAt(i);
+            }
+        }
+        return CharBuffer.wrap(chars);
+    }
+
+
 
     public final void setLenient(boolean lenient) {
         this.lenient = lenient;
@@ -229,7 +320,11 @@ public class JsonReader implements Closeable {
         }
     }
 
-    private int doPeek() throws IOException {
+    int doPeek() throws IOException {
+        if (streamingQuote != 0) {
+            throw new IllegalStateException("The Reader returned by nextStringAsReader() must be read to the end or closed first"
+                    + " at line " + getLineNumber() + " column " + getColumnNumber() + " path " + getPath());
+        }
         int peekStack = stack[stackSize - 1];
         if (peekStack == JsonScope.EMPTY_ARRAY) {
             stack[stackSize - 1] = JsonScope.NONEMPTY_ARRAY;
@@ -278,7 +373,7 @@ public class JsonReader implements Closeable {
                 default:
                     checkLenient();
                     pos--; // Don't consume the first character in an unquoted string.
-                    if (isLiteral((char) c)) {
+                    if (isLiteral(c)) {
                         return peeked = PEEKED_UNQUOTED_NAME;
                     } else {
                         throw syntaxError("Expected name");
@@ -293,7 +388,7 @@ public class JsonReader implements Closeable {
                     break;
                 case '=':
                     checkLenient();
-                    if ((pos < limit || fillBuffer(1)) && buffer[pos] == '>') {
+                    if ((pos < limit || fillBuffer(1)) && charAt(pos) == '>') {
                         pos++;
                     }
                     break;
@@ -364,7 +459,7 @@ public class JsonReader implements Closeable {
             return result;
         }
 
-        if (!isLiteral(buffer[pos])) {
+        if (!isLiteral(charAt(pos))) {
             throw syntaxError("Expected value");
         }
 
@@ -374,7 +469,7 @@ public class JsonReader implements Closeable {
 
     private int peekKeyword() throws IOException {
         // Figure out which keyword we're matching against by its first character.
-        char c = buffer[pos];
+        int c = charAt(pos);
         String keyword;
         String keywordUpper;
         int peeking;
@@ -400,14 +495,14 @@ public class JsonReader implements Closeable {
             if (pos + i >= limit && !fillBuffer(i + 1)) {
                 return PEEKED_NONE;
             }
-            c = buffer[pos + i];
+            c = charAt(pos + i);
             if (c != keyword.charAt(i) && c != keywordUpper.charAt(i)) {
                 return PEEKED_NONE;
             }
         }
 
         if ((pos + length < limit || fillBuffer(length + 1))
-                && isLiteral(buffer[pos + length])) {
+                && isLiteral(charAt(pos + length))) {
             return PEEKED_NONE; // Don't match trues, falsey or nullsoft!
         }
 
@@ -416,7 +511,7 @@ public class JsonReader implements Closeable {
         return peeked = peeking;
     }
 
-    private int peekNumber() throws IOException {
+    int peekNumber() throws IOException {
         // Like nextNonWhitespace, this uses locals 'p' and 'l' to save inner-loop field access.
         char[] buffer = this.buffer;
         int p = pos;
@@ -432,7 +527,7 @@ public class JsonReader implements Closeable {
         charactersOfNumber:
         for (; true; i++) {
             if (p + i == l) {
-                if (i == buffer.length) {
+                if (i == buffer.length && in != null) {
                     // Though this looks like a well-formed number, it's too long to continue reading. Give up
                     // and let the application handle this as an unquoted literal.
                     return PEEKED_NONE;
@@ -519,7 +614,10 @@ public class JsonReader implements Closeable {
         }
     }
 
-    private boolean isLiteral(char c) throws IOException {
+    /**
+     * @param c 字符；Utf8JsonReader传入字节，非ASCII字节为负数，总是字面量的一部分
+     */
+    boolean isLiteral(int c) throws IOException {
         switch (c) {
             case '/':
             case '\\':
@@ -554,9 +652,9 @@ public class JsonReader implements Closeable {
         if (p == PEEKED_UNQUOTED_NAME) {
             result = nextUnquotedValue();
         } else if (p == PEEKED_SINGLE_QUOTED_NAME) {
-            result = nextQuotedValue('\'');
+            result = nextQuotedName('\'');
         } else if (p == PEEKED_DOUBLE_QUOTED_NAME) {
-            result = nextQuotedValue('"');
+            result = nextQuotedName('"');
         } else {
             throw new IllegalStateException("Expected a name but was " + peek()
                     + " at line " + getLineNumber() + " column " + getColumnNumber() + " path " + getPath());
@@ -567,6 +665,101 @@ public class JsonReader implements Closeable {
     }
 
 
+    /**
+     * 与{@link #nextName(JsonNameSet)}相同，但先假设下一个属性名就是names中下标为expected的名字，
+     * 只做一次逐字比较；不相符时再按一般方式查找。适合属性顺序基本固定的输入
+     * @param names 候选的属性名
+     * @param expected 预期的下标，超出范围时不做预测
+     * @return 属性名在names中的下标，不在其中时返回-1(属性名同样被消费)
+     * @throws IOException IOException
+     */
+    public int nextName(JsonNameSet names, int expected) throws IOException {
+        if (expected >= 0 && expected < names.size() && names.isLiteral(expected)) {
+            int p = peeked;
+            if (p == PEEKED_NONE) {
+                p = doPeek();
+            }
+            if (p == PEEKED_DOUBLE_QUOTED_NAME || p == PEEKED_SINGLE_QUOTED_NAME) {
+                String name = names.name(expected);
+                if (nextQuotedNameIs(name, p == PEEKED_DOUBLE_QUOTED_NAME ? '"' : '\'')) {
+                    peeked = PEEKED_NONE;
+                    pathNames[stackSize - 1] = name;
+                    return expected;
+                }
+            }
+        }
+        return nextName(names);
+    }
+
+
+    /**
+     * 读取下一个属性名，并在names中查找它。
+     * 加引号且没有转义的属性名直接与buffer中的字符比较，命中时不创建String
+     * @param names 候选的属性名
+     * @return 属性名在names中的下标，不在其中时返回-1(属性名同样被消费)
+     * @throws IOException IOException
+     */
+    public int nextName(JsonNameSet names) throws IOException {
+        int p = peeked;
+        if (p == PEEKED_NONE) {
+            p = doPeek();
+        }
+        if (p == PEEKED_DOUBLE_QUOTED_NAME || p == PEEKED_SINGLE_QUOTED_NAME) {
+            int index = nextQuotedName(names, p == PEEKED_DOUBLE_QUOTED_NAME ? '"' : '\'');
+            if (index != -1) {
+                peeked = PEEKED_NONE;
+                pathNames[stackSize - 1] = names.name(index);
+                return index;
+            }
+        }
+        return names.indexOf(nextName());
+    }
+
+    /**
+     * 下一个属性名完整地位于buffer中且与name逐字相同时消费它
+     * @param name 只含不需要转义的字符
+     * @param quote 引号
+     * @return 是否相同，不同时不消费
+     */
+    boolean nextQuotedNameIs(String name, char quote) {
+        int length = name.length();
+        int start = pos;
+        if (start + length < limit && buffer[start + length] == quote
+                && NameTable.matches(name, buffer, start, length)) {
+            pos = start + length + 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 在names中查找下一个属性名，加引号且没有转义的属性名直接与buffer中的字符比较
+     * @param names 候选的属性名
+     * @param quote 引号
+     * @return 找到时消费属性名并返回下标；否则返回-1，不消费
+     */
+    int nextQuotedName(JsonNameSet names, char quote) {
+        char[] buffer = this.buffer;
+        int start = pos;
+        int l = limit;
+        int hash = 0;
+        for (int i = start; i < l; i++) {
+            char c = buffer[i];
+            if (c == quote) {
+                int index = names.indexOf(buffer, start, i - start, hash);
+                if (index != -1) {
+                    pos = i + 1;
+                }
+                return index;
+            } else if (c == '\\' || c == '\n') {
+                return -1;
+            }
+            hash = 31 * hash + c;
+        }
+        return -1;
+    }
+
+
     public String nextString() throws IOException {
         int p = peeked;
         if (p == PEEKED_NONE) {
@@ -585,7 +778,7 @@ public class JsonReader implements Closeable {
         } else if (p == PEEKED_LONG) {
             result = Long.toString(peekedLong);
         } else if (p == PEEKED_NUMBER) {
-            result = new String(buffer, pos, peekedNumberLength);
+            result = peekedNumberString();
             pos += peekedNumberLength;
         } else {
             throw new IllegalStateException("Expected a string but was " + peek()
@@ -597,6 +790,301 @@ public class JsonReader implements Closeable {
     }
 
 
+    /**
+     * 分块读取下一个字符串值，不把整个值放入内存。没有转义的片段直接从缓冲区交给handler，
+     * 连续的转义字符合并后交给handler
+     * @param handler 接收字符
+     * @throws IOException IOException
+     */
+    public void nextString(StringChunkHandler handler) throws IOException {
+        int p = peeked;
+        if (p == PEEKED_NONE) {
+            p = doPeek();
+        }
+        char quote;
+        if (p == PEEKED_DOUBLE_QUOTED) {
+            quote = '"';
+        } else if (p == PEEKED_SINGLE_QUOTED) {
+            quote = '\'';
+        } else {
+            // 数字、未加引号的字符串不会很长
+            String value = nextString();
+            if (!value.isEmpty()) {
+                handler.chunk(value.toCharArray(), 0, value.length());
+            }
+            return;
+        }
+        nextQuotedValue(quote, handler);
+        peeked = PEEKED_NONE;
+        pathIndices[stackSize - 1]++;
+    }
+
+    /**
+     * 把当前字符串的字符分块交给handler，pos是开始引号的下一个字符，结束时pos在结束引号之后
+     * @param quote 引号
+     * @param handler 接收字符
+     * @throws IOException IOException
+     */
+    void nextQuotedValue(char quote, StringChunkHandler handler) throws IOException {
+        char[] buffer = this.buffer;
+        char[] escaped = null;
+        int p;
+        int escapedCount = 0;
+        while (true) {
+            p = pos;
+            int l = limit;
+            int start = p;
+            while (p < l) {
+                char c = buffer[p++];
+                if (c == quote || c == '\\') {
+                    pos = p;
+                    if (p - 1 > start) {
+                        if (escapedCount > 0) {
+                            handler.chunk(escaped, 0, escapedCount);
+                            escapedCount = 0;
+                        }
+                        handler.chunk(buffer, start, p - 1 - start);
+                    }
+                    if (c == quote) {
+                        if (escapedCount > 0) {
+                            handler.chunk(escaped, 0, escapedCount);
+                        }
+                        return;
+                    }
+                    if (escaped == null) {
+                        escaped = new char[64];
+                    } else if (escapedCount == escaped.length) {
+                        handler.chunk(escaped, 0, escapedCount);
+                        escapedCount = 0;
+                    }
+                    escaped[escapedCount++] = readEscapeCharacter();
+                    p = pos;
+                    l = limit;
+                    start = p;
+                } else if (c == '\n') {
+                    lineNumber++;
+                    lineStart = p;
+                }
+            }
+            pos = p;
+            if (p > start) {
+                if (escapedCount > 0) {
+                    handler.chunk(escaped, 0, escapedCount);
+                    escapedCount = 0;
+                }
+                handler.chunk(buffer, start, p - start);
+            }
+            if (!fillBuffer(1)) {
+                throw syntaxError("Unterminated string");
+            }
+        }
+    }
+
+    /**
+     * 以字符流的形式读取下一个字符串值，边读边处理转义，不把整个值放入内存。
+     * 返回的Reader读到末尾或关闭(关闭时跳过剩余的字符)之前，不能调用这个JsonReader的其他方法
+     * @return 当前字符串值的Reader
+     * @throws IOException IOException
+     */
+    public Reader nextStringAsReader() throws IOException {
+        int p = peeked;
+        if (p == PEEKED_NONE) {
+            p = doPeek();
+        }
+        if (p == PEEKED_DOUBLE_QUOTED) {
+            streamingQuote = '"';
+        } else if (p == PEEKED_SINGLE_QUOTED) {
+            streamingQuote = '\'';
+        } else {
+            return new StringReader(nextString());
+        }
+        peeked = PEEKED_NONE;
+        return new StringValueReader();
+    }
+
+    /**
+     * 把当前字符串的下一段字符读入dest，读到结束引号时把streamingQuote置为0
+     * @return 读到的字符数，字符串已经结束且没有读到字符时为-1
+     */
+    int readStringChunk(char[] dest, int offset, int length) throws IOException {
+        char quote = streamingQuote;
+        char[] buffer = this.buffer;
+        int n = 0;
+        while (true) {
+            int p = pos;
+            int l = limit;
+            while (p < l && n < length) {
+                char c = buffer[p++];
+                if (c == quote) {
+                    pos = p;
+                    streamingQuote = 0;
+                    return n == 0 ? -1 : n;
+                } else if (c == '\\') {
+                    pos = p;
+                    c = readEscapeCharacter();
+                    p = pos;
+                    l = limit;
+                } else if (c == '\n') {
+                    lineNumber++;
+                    lineStart = p;
+                }
+                dest[offset + n++] = c;
+            }
+            pos = p;
+            if (n > 0) {
+                return n;
+            }
+            if (!fillBuffer(1)) {
+                throw syntaxError("Unterminated string");
+            }
+        }
+    }
+
+    /**
+     * nextStringAsReader返回的Reader，经readStringChunk直接从缓冲区读取
+     */
+    private final class StringValueReader extends Reader {
+
+        private boolean done;
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (off < 0 || len < 0 || off + len > cbuf.length) {
+                throw new IndexOutOfBoundsException("off=" + off + ", len=" + len);
+            }
+            if (done) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            int n = readStringChunk(cbuf, off, len);
+            if (streamingQuote == 0) {
+                finish();
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (done) {
+                return;
+            }
+            char[] skipped = new char[256];
+            while (streamingQuote != 0) {
+                // 跳过剩余的字符
+                readStringChunk(skipped, 0, skipped.length);
+            }
+            finish();
+        }
+
+        private void finish() {
+            done = true;
+            pathIndices[stackSize - 1]++;
+        }
+    }
+
+    /**
+     * 读取Base64编码的字符串并解码。双引号字符串直接在缓冲区上解码，不创建中间的String。
+     * 同时接受标准和URL安全的字母表，填充可以省略
+     * @return 解码后的字节
+     * @throws IOException IOException
+     * @throws IllegalStateException 下一个值不是字符串，或者不是合法的Base64
+     */
+    public byte[] nextBase64() throws IOException {
+        int p = peeked;
+        if (p == PEEKED_NONE) {
+            p = doPeek();
+        }
+        if (p != PEEKED_DOUBLE_QUOTED) {
+            String value = nextString();
+            try {
+                return Base64Decoder.decode(value);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Invalid Base64 string at path " + getPath(), e);
+            }
+        }
+        byte[] result = decodeBase64();
+        peeked = PEEKED_NONE;
+        pathIndices[stackSize - 1]++;
+        return result;
+    }
+
+    /**
+     * 在缓冲区上解码当前双引号字符串中的Base64，pos是开始引号的下一个字符，结束时pos在结束引号之后
+     * @return 解码后的字节
+     * @throws IOException IOException
+     */
+    byte[] decodeBase64() throws IOException {
+        char[] buffer = this.buffer;
+        // 整个字符串都在buffer中且没有转义时，可以算出准确的长度
+        int end = pos;
+        while (end < limit && buffer[end] != '"' && buffer[end] != '\\') {
+            end++;
+        }
+        byte[] result;
+        if (end < limit && buffer[end] == '"') {
+            int chars = end - pos;
+            while (chars > 0 && buffer[pos + chars - 1] == '=') {
+                chars--;
+            }
+            result = new byte[chars * 3 / 4];
+        } else {
+            result = new byte[Math.max(16, (end - pos) / 4 * 3 * 2)];
+        }
+
+        int size = 0;
+        int bits = 0;
+        int count = 0;
+        int padding = 0;
+        while (true) {
+            int p = pos;
+            int l = limit;
+            while (p < l) {
+                char c = buffer[p++];
+                if (c == '"') {
+                    pos = p;
+                    result = Base64Decoder.finish(result, size, bits, count, padding);
+                    if (result == null) {
+                        throw new IllegalStateException("Invalid Base64 length at line " + getLineNumber()
+                                + " column " + getColumnNumber() + " path " + getPath());
+                    }
+                    return result;
+                }
+                if (c == '\\') {
+                    pos = p;
+                    c = readEscapeCharacter();
+                    p = pos;
+                    l = limit;
+                }
+                int value = Base64Decoder.value(c);
+                if (value >= 0 && padding == 0) {
+                    bits = bits << 6 | value;
+                    if (++count == 4) {
+                        if (result.length - size < 3) {
+                            result = Arrays.copyOf(result, result.length * 2);
+                        }
+                        result[size++] = (byte) (bits >> 16);
+                        result[size++] = (byte) (bits >> 8);
+                        result[size++] = (byte) bits;
+                        bits = 0;
+                        count = 0;
+                    }
+                } else if (c == '=') {
+                    padding++;
+                } else {
+                    pos = p;
+                    throw new IllegalStateException("Invalid Base64 character '" + c + "' at line " + getLineNumber()
+                            + " column " + getColumnNumber() + " path " + getPath());
+                }
+            }
+            pos = p;
+            if (!fillBuffer(1)) {
+                throw syntaxError("Unterminated string");
+            }
+        }
+    }
+
     public boolean nextBoolean() throws IOException {
         int p = peeked;
         if (p == PEEKED_NONE) {
@@ -643,10 +1131,24 @@ public class JsonReader implements Closeable {
             return (double) peekedLong;
         }
 
+        double result;
         if (p == PEEKED_NUMBER) {
-            peekedString = new String(buffer, pos, peekedNumberLength);
+            result = parsePeekedNumber();
+            if (!lenient && Double.isInfinite(result)) {
+                // 与字符串路径一致，抛出前把数字缓存起来，调用方仍可以nextString()或skipValue()
+                peekedString = peekedNumberString();
+                pos += peekedNumberLength;
+                peeked = PEEKED_BUFFERED;
+                throw new MalformedJsonException("JSON forbids NaN and infinities: " + result
+                        + " at line " + getLineNumber() + " column " + getColumnNumber() + " path " + getPath());
+            }
             pos += peekedNumberLength;
-        } else if (p == PEEKED_SINGLE_QUOTED || p == PEEKED_DOUBLE_QUOTED) {
+            peeked = PEEKED_NONE;
+            pathIndices[stackSize - 1]++;
+            return result;
+        }
+
+        if (p == PEEKED_SINGLE_QUOTED || p == PEEKED_DOUBLE_QUOTED) {
             peekedString = nextQuotedValue(p == PEEKED_SINGLE_QUOTED ? '\'' : '"');
         } else if (p == PEEKED_UNQUOTED) {
             peekedString = nextUnquotedValue();
@@ -656,7 +1158,7 @@ public class JsonReader implements Closeable {
         }
 
         peeked = PEEKED_BUFFERED;
-        double result = Double.parseDouble(peekedString); // don't catch this NumberFormatException.
+        result = Double.parseDouble(peekedString); // don't catch this NumberFormatException.
         if (!lenient && (Double.isNaN(result) || Double.isInfinite(result))) {
             throw new MalformedJsonException("JSON forbids NaN and infinities: " + result
                     + " at line " + getLineNumber() + " column " + getColumnNumber() + " path " + getPath());
@@ -681,7 +1183,7 @@ public class JsonReader implements Closeable {
         }
 
         if (p == PEEKED_NUMBER) {
-            peekedString = new String(buffer, pos, peekedNumberLength);
+            peekedString = peekedNumberString();
             pos += peekedNumberLength;
         } else if (p == PEEKED_SINGLE_QUOTED || p == PEEKED_DOUBLE_QUOTED) {
             peekedString = nextQuotedValue(p == PEEKED_SINGLE_QUOTED ? '\'' : '"');
@@ -714,10 +1216,63 @@ public class JsonReader implements Closeable {
     }
 
 
-    private String nextQuotedValue(char quote) throws IOException {
+    /**
+     * @return pos处、长度为peekedNumberLength的数字
+     */
+    String peekedNumberString() {
+        return new String(buffer, pos, peekedNumberLength);
+    }
+
+    /**
+     * 数字已在buffer中且经过校验，直接转换，不创建String
+     * @return pos处、长度为peekedNumberLength的数字的值
+     */
+    double parsePeekedNumber() {
+        return DoubleParser.parse(buffer, pos, peekedNumberLength);
+    }
+
+    /**
+     * 读取加引号的属性名。属性名完整地位于buffer中且没有转义时，经符号表返回已有的String
+     * @param quote 引号
+     * @return 属性名
+     * @throws IOException IOException
+     */
+    String nextQuotedName(char quote) throws IOException {
+        char[] buffer = this.buffer;
+        boolean filled = false;
+        while (true) {
+            int start = pos;
+            int l = limit;
+            int hash = 0;
+            int p = start;
+            for (; p < l; p++) {
+                char c = buffer[p];
+                if (c == quote) {
+                    pos = p + 1;
+                    NameTable nameTable = this.nameTable;
+                    if (nameTable == null) {
+                        nameTable = this.nameTable = new NameTable();
+                    }
+                    return nameTable.get(buffer, start, p - start, hash);
+                } else if (c == '\\' || c == '\n') {
+                    return nextQuotedValue(quote);
+                }
+                hash = 31 * hash + c;
+            }
+            // 属性名被buffer末尾截断，较短时补充一次字符再重新扫描
+            if (filled || p - start >= 64 || !fillBuffer(p - start + 1)) {
+                return nextQuotedValue(quote);
+            }
+            filled = true;
+        }
+    }
+
+
+    String nextQuotedValue(char quote) throws IOException {
         // Like nextNonWhitespace, this uses locals 'p' and 'l' to save inner-loop field access.
         char[] buffer = this.buffer;
-        StringBuilder builder = new StringBuilder();
+        // 没有转义、也没有跨越填充的字符串直接从buffer切出，不经过StringBuilder
+        StringBuilder builder = null;
         while (true) {
             int p = pos;
             int l = limit;
@@ -728,10 +1283,16 @@ public class JsonReader implements Closeable {
 
                 if (c == quote) {
                     pos = p;
+                    if (builder == null) {
+                        return new String(buffer, start, p - start - 1);
+                    }
                     builder.append(buffer, start, p - start - 1);
                     return builder.toString();
                 } else if (c == '\\') {
                     pos = p;
+                    if (builder == null) {
+                        builder = new StringBuilder(Math.max(16, (p - start) * 2));
+                    }
                     builder.append(buffer, start, p - start - 1);
                     builder.append(readEscapeCharacter());
                     p = pos;
@@ -743,6 +1304,9 @@ public class JsonReader implements Closeable {
                 }
             }
 
+            if (builder == null) {
+                builder = new StringBuilder(Math.max(16, (p - start) * 2));
+            }
             builder.append(buffer, start, p - start);
             pos = p;
             if (!fillBuffer(1)) {
@@ -753,7 +1317,7 @@ public class JsonReader implements Closeable {
 
 
     @SuppressWarnings("fallthrough")
-    private String nextUnquotedValue() throws IOException {
+    String nextUnquotedValue() throws IOException {
         StringBuilder builder = null;
         int i = 0;
 
@@ -814,7 +1378,7 @@ public class JsonReader implements Closeable {
         return result;
     }
 
-    private void skipQuotedValue(char quote) throws IOException {
+    void skipQuotedValue(char quote) throws IOException {
         // Like nextNonWhitespace, this uses locals 'p' and 'l' to save inner-loop field access.
         char[] buffer = this.buffer;
         do {
@@ -841,7 +1405,7 @@ public class JsonReader implements Closeable {
         throw syntaxError("Unterminated string");
     }
 
-    private void skipUnquotedValue() throws IOException {
+    void skipUnquotedValue() throws IOException {
         do {
             int i = 0;
             for (; pos + i < limit; i++) {
@@ -891,7 +1455,7 @@ public class JsonReader implements Closeable {
         }
 
         if (p == PEEKED_NUMBER) {
-            peekedString = new String(buffer, pos, peekedNumberLength);
+            peekedString = peekedNumberString();
             pos += peekedNumberLength;
         } else if (p == PEEKED_SINGLE_QUOTED || p == PEEKED_DOUBLE_QUOTED) {
             peekedString = nextQuotedValue(p == PEEKED_SINGLE_QUOTED ? '\'' : '"');
@@ -929,7 +1493,9 @@ public class JsonReader implements Closeable {
         peeked = PEEKED_NONE;
         stack[0] = JsonScope.CLOSED;
         stackSize = 1;
-        in.close();
+        if (in != null) {
+            in.close();
+        }
     }
 
     /**
@@ -939,6 +1505,11 @@ public class JsonReader implements Closeable {
      * @throws IOException IOException
      */
     public void skipValue() throws IOException {
+        if (skipIndexedValue()) {
+            pathIndices[stackSize - 1]++;
+            pathNames[stackSize - 1] = "null";
+            return;
+        }
         int count = 0;
         do {
             int p = peeked;
@@ -974,7 +1545,16 @@ public class JsonReader implements Closeable {
         pathNames[stackSize - 1] = "null";
     }
 
-    private void push(int newTop) {
+    /**
+     * 不逐个token地跳过下一个值，默认不支持
+     * @return 是否已经跳过，跳过时peeked为PEEKED_NONE，pathIndices、pathNames由调用方更新
+     * @throws IOException IOException
+     */
+    boolean skipIndexedValue() throws IOException {
+        return false;
+    }
+
+    void push(int newTop) {
         if (stackSize == stack.length) {
             int[] newStack = new int[stackSize * 2];
             int[] newPathIndices = new int[stackSize * 2];
@@ -995,7 +1575,11 @@ public class JsonReader implements Closeable {
      * @return true is ok otherwise failed
      * @throws IOException unexpected ioException
      */
-    private boolean fillBuffer(int minimum) throws IOException {
+    boolean fillBuffer(int minimum) throws IOException {
+        if (in == null) {
+            // 整个文档已在buffer中，没有更多字符可以填充
+            return limit - pos >= minimum;
+        }
         char[] buffer = this.buffer;
         lineStart -= pos;
         if (limit != pos) {
@@ -1024,16 +1608,24 @@ public class JsonReader implements Closeable {
         return false;
     }
 
-    private int getLineNumber() {
+    int getLineNumber() {
         return lineNumber + 1;
     }
 
-    private int getColumnNumber() {
+    int getColumnNumber() {
         return pos - lineStart + 1;
     }
 
 
-    private int nextNonWhitespace(boolean throwOnEof) throws IOException {
+    /**
+     * @param index 下标，小于limit
+     * @return buffer中该位置的字符
+     */
+    int charAt(int index) {
+        return buffer[index];
+    }
+
+    int nextNonWhitespace(boolean throwOnEof) throws IOException {
         /*
          * This code uses ugly local variables 'p' and 'l' representing the 'pos'
          * and 'limit' fields respectively. Using locals rather than fields saves
@@ -1123,7 +1715,7 @@ public class JsonReader implements Closeable {
         }
     }
 
-    private void checkLenient() throws IOException {
+    void checkLenient() throws IOException {
         if (!lenient) {
             throw syntaxError("Use JsonReader.setLenient(true) to accept malformed JSON");
         }
@@ -1262,7 +1854,7 @@ public class JsonReader implements Closeable {
     /**
      * 用给定的消息和包含此阅读器内容的上下文片段抛出一个新的IO异常
      */
-    private IOException syntaxError(String message) throws IOException {
+    IOException syntaxError(String message) throws IOException {
         throw new MalformedJsonException(message
                 + " at line " + getLineNumber() + " column " + getColumnNumber() + " path " + getPath());
     }
@@ -1280,7 +1872,7 @@ public class JsonReader implements Closeable {
         }
 
         for (int i = 0; i < NON_EXECUTE_PREFIX.length; i++) {
-            if (buffer[pos + i] != NON_EXECUTE_PREFIX[i]) {
+            if (charAt(pos + i) != NON_EXECUTE_PREFIX[i]) {
                 return; // not a security token!
             }
         }
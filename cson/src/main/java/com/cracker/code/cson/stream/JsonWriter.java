@@ -1,9 +1,13 @@
 package com.cracker.code.cson.stream;
 
+import com.cracker.code.cson.internal.NumberFormatter;
+
 import java.io.Closeable;
 import java.io.Flushable;
 import java.io.IOException;
+import java.io.Reader;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 
 import static com.cracker.code.cson.stream.JsonScope.*;
 
@@ -34,6 +38,14 @@ public class JsonWriter implements Closeable, Flushable {
      */
     private static final String[] REPLACEMENT_CHARS;
     private static final String[] HTML_SAFE_REPLACEMENT_CHARS;
+
+    private static final char[] BASE64 =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+    /**
+     * 堆外ByteBuffer每次复制出来编码的字节数，是3的倍数
+     */
+    private static final int BASE64_CHUNK = 3 * 1024;
     
     
     static {
@@ -59,6 +71,22 @@ public class JsonWriter implements Closeable, Flushable {
         HTML_SAFE_REPLACEMENT_CHARS['\''] = "\\u0027";
     }
 
+    /**
+     * 每个char是否需要转义：ESCAPE位对应REPLACEMENT_CHARS，HTML_SAFE_ESCAPE位对应HTML_SAFE_REPLACEMENT_CHARS，
+     * 另外还有U+2028、U+2029。覆盖全部65536个char，查表时不需要先判断范围
+     */
+    private static final byte[] ESCAPES = new byte[65536];
+    private static final int ESCAPE = 1;
+    private static final int HTML_SAFE_ESCAPE = 2;
+
+    static {
+        for (int i = 0; i < 128; i++) {
+            ESCAPES[i] = (byte) ((REPLACEMENT_CHARS[i] != null ? ESCAPE | HTML_SAFE_ESCAPE : 0)
+                    | (HTML_SAFE_REPLACEMENT_CHARS[i] != null ? HTML_SAFE_ESCAPE : 0));
+        }
+        ESCAPES['\u2028'] = ESCAPES['\u2029'] = ESCAPE | HTML_SAFE_ESCAPE;
+    }
+
 
     /**
      * 最多包含一个顶级数组或对象的输出数据
@@ -71,6 +99,18 @@ public class JsonWriter implements Closeable, Flushable {
     private int[] stack = new int[32];
     private int stackSize = 0;
 
+    /**
+     * 输出缓冲区。写满、flush、close或者写完一个顶层值时才交给out，
+     * 避免每个括号、分隔符都经过一次out的调用(StringWriter、OutputStreamWriter都要加锁)
+     */
+    private final char[] buffer = new char[1024];
+    private int pos = 0;
+
+    /**
+     * string()扫描用的缓冲区，按需扩容，最大与buffer相同
+     */
+    private char[] stringBuffer;
+
 
 
     {
@@ -112,6 +152,11 @@ public class JsonWriter implements Closeable, Flushable {
      */
     private String deferredName;
 
+    /**
+     * deferredName对应的预编码形式，通过name(String)设置时为null
+     */
+    private JsonEncodedName deferredEncodedName;
+
     /**
      * 是否接受key:value中，value可为空情况
      */
@@ -159,6 +204,20 @@ public class JsonWriter implements Closeable, Flushable {
         this.htmlSafe = htmlSafe;
     }
 
+    /**
+     * double、float是否由NumberFormatter直接输出最短表示。默认只在JDK 19起开启，此时与Double.toString完全相同；
+     * 更早的JDK上默认使用Double.toString、Float.toString，输出与以前保持一致
+     */
+    private boolean shortestFloatingPoint = NumberFormatter.JDK_SHORTEST;
+
+    public boolean isShortestFloatingPoint() {
+        return shortestFloatingPoint;
+    }
+
+    public void setShortestFloatingPoint(boolean shortestFloatingPoint) {
+        this.shortestFloatingPoint = shortestFloatingPoint;
+    }
+
 
 
     public JsonWriter(Writer out) {
@@ -198,9 +257,100 @@ public class JsonWriter implements Closeable, Flushable {
         if (stackSize == 0) {
             throw new IllegalStateException("JsonWriter is closed.");
         }
+        flushBuffer();
         this.out.flush();
     }
 
+    /**
+     * 把缓冲区中的内容交给out，不调用out.flush()
+     * @throws IOException IOException
+     */
+    private void flushBuffer() throws IOException {
+        if (pos > 0) {
+            out.write(buffer, 0, pos);
+            pos = 0;
+        }
+    }
+
+    /**
+     * 一个顶层值写完后立即交给out。这样即使调用方不flush，写完一个完整的文档后out中也已经有全部内容，
+     * 与不带缓冲时的行为一致
+     * @throws IOException IOException
+     */
+    private void endValue() throws IOException {
+        if (stackSize == 1) {
+            flushBuffer();
+        }
+    }
+
+    private void write(char c) throws IOException {
+        if (pos == buffer.length) {
+            flushBuffer();
+        }
+        buffer[pos++] = c;
+    }
+
+    private void write(char[] chars) throws IOException {
+        write(chars, 0, chars.length);
+    }
+
+    private void write(char[] chars, int offset, int length) throws IOException {
+        if (length > buffer.length - pos) {
+            flushBuffer();
+            if (length > buffer.length) {
+                out.write(chars, offset, length);
+                return;
+            }
+        }
+        System.arraycopy(chars, offset, buffer, pos, length);
+        pos += length;
+    }
+
+    private void write(String s) throws IOException {
+        write(s, 0, s.length());
+    }
+
+    private void write(String s, int offset, int length) throws IOException {
+        if (length > buffer.length - pos) {
+            flushBuffer();
+            if (length > buffer.length) {
+                out.write(s, offset, length);
+                return;
+            }
+        }
+        s.getChars(offset, offset + length, buffer, pos);
+        pos += length;
+    }
+
+    private void writeNumber(long value) throws IOException {
+        if (buffer.length - pos < NumberFormatter.MAX_LENGTH) {
+            flushBuffer();
+        }
+        pos = NumberFormatter.format(value, buffer, pos);
+    }
+
+    private void writeNumber(double value) throws IOException {
+        if (!shortestFloatingPoint) {
+            write(Double.toString(value));
+            return;
+        }
+        if (buffer.length - pos < NumberFormatter.MAX_LENGTH) {
+            flushBuffer();
+        }
+        pos = NumberFormatter.format(value, buffer, pos);
+    }
+
+    private void writeNumber(float value) throws IOException {
+        if (!shortestFloatingPoint) {
+            write(Float.toString(value));
+            return;
+        }
+        if (buffer.length - pos < NumberFormatter.MAX_LENGTH) {
+            flushBuffer();
+        }
+        pos = NumberFormatter.format(value, buffer, pos);
+    }
+
     /**
      * 1、初始化堆栈记录数组，赋值空document
      * 2、对堆栈记录数组进行扩容
@@ -247,6 +397,18 @@ public class JsonWriter implements Closeable, Flushable {
         return this;
     }
 
+    /**
+     * 与name(String)相同，但属性名已经预先转义、加好引号，写出时整块复制
+     * @param name 预编码的属性名
+     * @return this writer.
+     * @throws IOException IOException
+     */
+    public JsonWriter name(JsonEncodedName name) throws IOException {
+        name(name.getName());
+        this.deferredEncodedName = name;
+        return this;
+    }
+
     /**
      * Write a null into the writer
      * @return a writer of json
@@ -257,13 +419,15 @@ public class JsonWriter implements Closeable, Flushable {
                 writeDeferredName();
             } else {
                 deferredName = null;
+                deferredEncodedName = null;
                 // 举个例子：假如你输入的是{"country": "China", "name": null}
                 // 那么这里直接忽略掉name属性，只返回{"country": "China"}
                 return this;
             }
         }
         beforeValue(false);
-        this.out.write("null");
+        write("null");
+        endValue();
         return this;
     }
 
@@ -275,7 +439,12 @@ public class JsonWriter implements Closeable, Flushable {
     private void writeDeferredName() throws IOException {
         if (deferredName != null) {
             beforeName();
-            string(deferredName);
+            if (deferredEncodedName != null) {
+                write(htmlSafe ? deferredEncodedName.htmlSafeQuoted : deferredEncodedName.quoted);
+                deferredEncodedName = null;
+            } else {
+                string(deferredName);
+            }
             deferredName = null;
         }
     }
@@ -312,12 +481,12 @@ public class JsonWriter implements Closeable, Flushable {
                 break;
 
             case NONEMPTY_ARRAY:
-                this.out.append(',');
+                write(',');
                 newline();
                 break;
 
             case DANGLING_NAME:
-                this.out.append(separator);
+                write(separator);
                 replaceTop(NONEMPTY_OBJECT);
                 break;
 
@@ -345,7 +514,7 @@ public class JsonWriter implements Closeable, Flushable {
     private void beforeName() throws IOException {
         int context = peek();
         if (context == NONEMPTY_OBJECT) {
-            this.out.write(',');
+            write(',');
         } else if (context != EMPTY_OBJECT) {
             throw new IllegalStateException("Nesting problem.");
         }
@@ -362,47 +531,106 @@ public class JsonWriter implements Closeable, Flushable {
             return;
         }
 
-        this.out.write("\n");
+        write('\n');
         for (int i = 1, size = stackSize; i < size; i++) {
-            this.out.write(indent);
+            write(indent);
         }
     }
 
     /**
-     * 逐个字符解析，然后write down
+     * 转义并加上引号，供{@link JsonEncodedName}预先编码属性名
      * @param value String value
-     * @throws IOException IOException
+     * @param htmlSafe 是否按htmlSafe转义
+     * @return 编码后的字符
      */
-    private void string(String value) throws IOException {
+    static char[] quote(String value, boolean htmlSafe) {
         String[] replacements = htmlSafe ? HTML_SAFE_REPLACEMENT_CHARS : REPLACEMENT_CHARS;
-        this.out.write("\"");
-        int last = 0;
-        int length = value.length();
-        for (int i = 0; i < length; i++) {
+        StringBuilder builder = new StringBuilder(value.length() + 2);
+        builder.append('"');
+        for (int i = 0, length = value.length(); i < length; i++) {
             char c = value.charAt(i);
-            String replacement;
+            String replacement = null;
             if (c < 128) {
                 replacement = replacements[c];
-                if (replacement == null) {
-                    continue;
-                }
             } else if (c == '\u2028') {
                 replacement = "\\u2028";
             } else if (c == '\u2029') {
                 replacement = "\\u2029";
+            }
+            if (replacement == null) {
+                builder.append(c);
             } else {
-                continue;
+                builder.append(replacement);
+            }
+        }
+        builder.append('"');
+        char[] result = new char[builder.length()];
+        builder.getChars(0, result.length, result, 0);
+        return result;
+    }
+
+    /**
+     * 写出加引号、转义后的字符串。
+     * 先把字符串整块复制到stringBuffer，在char[]上逐个查表，不需要转义的连续片段整块写出
+     * @param value String value
+     * @throws IOException IOException
+     */
+    private void string(String value) throws IOException {
+        int length = value.length();
+        char[] chars = stringBuffer(length);
+        write('"');
+        for (int start = 0; start < length; ) {
+            int n = Math.min(length - start, chars.length);
+            value.getChars(start, start + n, chars, 0);
+            escaped(chars, n);
+            start += n;
+        }
+        write('"');
+    }
+
+    /**
+     * @param length 要写出的字符串长度
+     * @return 不小于length且不超过buffer长度的stringBuffer
+     */
+    private char[] stringBuffer(int length) {
+        char[] chars = this.stringBuffer;
+        if (chars == null || chars.length < length && chars.length < buffer.length) {
+            // 按实际写出的字符串长度分配，小对象序列化时不必每次都创建整块缓冲区
+            int capacity = chars == null ? 16 : chars.length * 2;
+            while (capacity < length && capacity < buffer.length) {
+                capacity *= 2;
+            }
+            chars = this.stringBuffer = new char[Math.min(capacity, buffer.length)];
+        }
+        return chars;
+    }
+
+    /**
+     * 在chars的前n个字符上逐个查表，不需要转义的连续片段整块写出
+     */
+    private void escaped(char[] chars, int n) throws IOException {
+        byte[] escapes = ESCAPES;
+        int mask = htmlSafe ? HTML_SAFE_ESCAPE : ESCAPE;
+        String[] replacements = htmlSafe ? HTML_SAFE_REPLACEMENT_CHARS : REPLACEMENT_CHARS;
+        int last = 0;
+        int i = 0;
+        while (true) {
+            while (i < n && (escapes[chars[i]] & mask) == 0) {
+                i++;
+            }
+            if (i == n) {
+                break;
             }
             if (last < i) {
-                this.out.write(value, last, i - last);
+                write(chars, last, i - last);
             }
-            this.out.write(replacement);
-            last = i + 1;
+            char c = chars[i];
+            write(c < 128 ? replacements[c] : c == '\u2028' ? "\\u2028" : "\\u2029");
+            last = ++i;
         }
-        if (last < length) {
-            this.out.write(value, last, length - last);
+        if (last < n) {
+            write(chars, last, n - last);
         }
-        this.out.write("\"");
     }
 
     /**
@@ -417,13 +645,39 @@ public class JsonWriter implements Closeable, Flushable {
         }
 
         writeDeferredName();
+        Class<? extends Number> type = value.getClass();
+        if (type == Integer.class || type == Long.class || type == Short.class || type == Byte.class) {
+            beforeValue(false);
+            writeNumber(value.longValue());
+            endValue();
+            return this;
+        }
+        if (type == Double.class) {
+            double doubleValue = value.doubleValue();
+            if (!Double.isNaN(doubleValue) && !Double.isInfinite(doubleValue)) {
+                beforeValue(false);
+                writeNumber(doubleValue);
+                endValue();
+                return this;
+            }
+        }
+        if (type == Float.class) {
+            float floatValue = value.floatValue();
+            if (!Float.isNaN(floatValue) && !Float.isInfinite(floatValue)) {
+                beforeValue(false);
+                writeNumber(floatValue);
+                endValue();
+                return this;
+            }
+        }
         String string = value.toString();
         if (!lenient
                 && ("-Infinity".equals(string) || "Infinity".equals(string) || "NaN".equals(string))) {
             throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
         }
         beforeValue(false);
-        this.out.append(string);
+        write(string);
+        endValue();
         return this;
     }
 
@@ -437,7 +691,8 @@ public class JsonWriter implements Closeable, Flushable {
     public JsonWriter value(boolean value) throws IOException {
         writeDeferredName();
         beforeValue(false);
-        this.out.write(value ? "true" : "false");
+        write(value ? "true" : "false");
+        endValue();
         return this;
     }
 
@@ -455,17 +710,164 @@ public class JsonWriter implements Closeable, Flushable {
         writeDeferredName();
         beforeValue(false);
         string(value);
+        endValue();
         return this;
     }
 
 
+    /**
+     * 把value中剩余的全部字符作为一个字符串写出，分块读取并转义，不会把整个值读入内存。
+     * 写完后不关闭value。<b>value会被读到末尾，再次写出同一个Reader得到的是空字符串</b>
+     * @param value 字符流
+     * @return JsonWriter
+     * @throws IOException IOException
+     */
+    public JsonWriter value(Reader value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        writeDeferredName();
+        beforeValue(false);
+        char[] chars = stringBuffer(buffer.length);
+        write('"');
+        int n;
+        while ((n = value.read(chars, 0, chars.length)) != -1) {
+            escaped(chars, n);
+        }
+        write('"');
+        endValue();
+        return this;
+    }
+
+
+    /**
+     * 把bytes按Base64(标准字母表，带填充)编码为字符串写出，直接编码到缓冲区，不创建中间的String
+     * @param bytes 字节数组
+     * @param offset 起始下标
+     * @param length 长度
+     * @return JsonWriter
+     * @throws IOException IOException
+     */
+    public JsonWriter valueBase64(byte[] bytes, int offset, int length) throws IOException {
+        if (bytes == null) {
+            return nullValue();
+        }
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException("offset=" + offset + ", length=" + length);
+        }
+        writeDeferredName();
+        beforeValue(false);
+        write('"');
+        base64(bytes, offset, length, true);
+        write('"');
+        endValue();
+        return this;
+    }
+
+    /**
+     * 按Base64编码写出position到limit之间的字节，不会修改bytes的position
+     * @param bytes ByteBuffer
+     * @return JsonWriter
+     * @throws IOException IOException
+     */
+    public JsonWriter valueBase64(ByteBuffer bytes) throws IOException {
+        if (bytes == null) {
+            return nullValue();
+        }
+        if (bytes.hasArray()) {
+            return valueBase64(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+        }
+        writeDeferredName();
+        beforeValue(false);
+        write('"');
+        // 堆外内存按块复制出来编码，块长是3的倍数，块与块之间不需要填充
+        ByteBuffer source = bytes.duplicate();
+        byte[] chunk = new byte[Math.min(source.remaining(), BASE64_CHUNK)];
+        while (source.hasRemaining()) {
+            int n = Math.min(source.remaining(), chunk.length);
+            source.get(chunk, 0, n);
+            base64(chunk, 0, n, !source.hasRemaining());
+        }
+        write('"');
+        endValue();
+        return this;
+    }
+
+    /**
+     * @param last 是否是最后一块，只有最后一块写出不足3个字节的尾部和填充
+     */
+    private void base64(byte[] bytes, int offset, int length, boolean last) throws IOException {
+        char[] alphabet = BASE64;
+        char[] buffer = this.buffer;
+        int end = offset + length - length % 3;
+        int i = offset;
+        while (i < end) {
+            if (buffer.length - pos < 4) {
+                flushBuffer();
+            }
+            // 一次写出缓冲区剩余空间能容纳的完整分组
+            int stop = Math.min(end, i + (buffer.length - pos) / 4 * 3);
+            int p = pos;
+            for (; i < stop; i += 3) {
+                int bits = (bytes[i] & 0xff) << 16 | (bytes[i + 1] & 0xff) << 8 | (bytes[i + 2] & 0xff);
+                buffer[p++] = alphabet[bits >>> 18];
+                buffer[p++] = alphabet[(bits >>> 12) & 0x3f];
+                buffer[p++] = alphabet[(bits >>> 6) & 0x3f];
+                buffer[p++] = alphabet[bits & 0x3f];
+            }
+            pos = p;
+        }
+        int tail = offset + length - end;
+        if (tail == 0 || !last) {
+            return;
+        }
+        int bits = (bytes[end] & 0xff) << 16 | (tail == 2 ? (bytes[end + 1] & 0xff) << 8 : 0);
+        write(alphabet[bits >>> 18]);
+        write(alphabet[(bits >>> 12) & 0x3f]);
+        if (tail == 2) {
+            write(alphabet[(bits >>> 6) & 0x3f]);
+        } else {
+            base64Padding();
+        }
+        base64Padding();
+    }
+
+    private void base64Padding() throws IOException {
+        // 与string()一致，htmlSafe时'='写成转义形式
+        if (htmlSafe) {
+            write(HTML_SAFE_REPLACEMENT_CHARS['=']);
+        } else {
+            write('=');
+        }
+    }
+
+
     public JsonWriter value(double value) throws IOException {
         if (Double.isNaN(value) || Double.isInfinite(value)) {
             throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
         }
         writeDeferredName();
         beforeValue(false);
-        out.append(Double.toString(value));
+        writeNumber(value);
+        endValue();
+        return this;
+    }
+
+
+    /**
+     * 按Float.toString的格式写出，不先转换为double
+     * @param value float
+     * @return JsonWriter
+     * @throws IOException IOException
+     */
+    public JsonWriter value(float value) throws IOException {
+        if (Float.isNaN(value) || Float.isInfinite(value)) {
+            throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+        }
+        writeDeferredName();
+        beforeValue(false);
+        writeNumber(value);
+        endValue();
         return this;
     }
 
@@ -473,7 +875,8 @@ public class JsonWriter implements Closeable, Flushable {
     public JsonWriter value(long value) throws IOException {
         writeDeferredName();
         beforeValue(false);
-        out.write(Long.toString(value));
+        writeNumber(value);
+        endValue();
         return this;
     }
 
@@ -527,7 +930,7 @@ public class JsonWriter implements Closeable, Flushable {
     private JsonWriter open(int empty, String openBracket) throws IOException {
         beforeValue(true);
         push(empty);
-        this.out.write(openBracket);
+        write(openBracket);
         return this;
     }
 
@@ -552,12 +955,14 @@ public class JsonWriter implements Closeable, Flushable {
         if (context == nonempty) {
             newline();
         }
-        this.out.write(closeBracket);
+        write(closeBracket);
+        endValue();
         return this;
     }
 
     @Override
     public void close() throws IOException {
+        flushBuffer();
         out.close();
 
         int size = stackSize;
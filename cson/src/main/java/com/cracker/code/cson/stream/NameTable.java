@@ -0,0 +1,144 @@
+package com.cracker.code.cson.stream;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ *
+ * NameTable：属性名符号表
+ *
+ * 直接对buffer中的字符区间求哈希并比较，命中时返回之前创建的String，不再分配新的对象。
+ * 哈希算法与String.hashCode一致。表的大小有上限，属性名过多(如以Map的key作为属性名)时
+ * 不再收录新的名字，退化为每次创建String。
+ *
+ * 只能同一包中的类使用，非线程安全，每个JsonReader持有一个
+ *
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+final class NameTable {
+
+    /**
+     * 最多收录的名字个数
+     */
+    private static final int MAX_SIZE = 512;
+
+    /**
+     * 超过该长度的名字不收录
+     */
+    private static final int MAX_NAME_LENGTH = 64;
+
+    private String[] names = new String[64];
+    private int size;
+
+    /**
+     * 返回与buffer[start, start + length)内容相同的String
+     * @param buffer 字符缓冲区
+     * @param start 起始位置
+     * @param length 长度
+     * @param hash 按String.hashCode算法计算的哈希值
+     * @return 表中已有的String，或者新创建的String
+     */
+    String get(char[] buffer, int start, int length, int hash) {
+        if (length > MAX_NAME_LENGTH) {
+            return new String(buffer, start, length);
+        }
+        String[] names = this.names;
+        int mask = names.length - 1;
+        int index = (hash ^ (hash >>> 16)) & mask;
+        String name;
+        while ((name = names[index]) != null) {
+            if (name.hashCode() == hash && matches(name, buffer, start, length)) {
+                return name;
+            }
+            index = (index + 1) & mask;
+        }
+
+        name = new String(buffer, start, length);
+        if (size < MAX_SIZE) {
+            names[index] = name;
+            if (++size * 2 > names.length) {
+                rehash();
+            }
+        }
+        return name;
+    }
+
+    /**
+     * 与{@link #get(char[], int, int, int)}相同，用于{@link Utf8JsonReader}：buffer[start, start + length)全是ASCII字节，
+     * 每个字节就是一个char，哈希值与String.hashCode一致
+     */
+    String get(byte[] buffer, int start, int length, int hash) {
+        if (length > MAX_NAME_LENGTH) {
+            return new String(buffer, start, length, StandardCharsets.ISO_8859_1);
+        }
+        String[] names = this.names;
+        int mask = names.length - 1;
+        int index = (hash ^ (hash >>> 16)) & mask;
+        String name;
+        while ((name = names[index]) != null) {
+            if (name.hashCode() == hash && matches(name, buffer, start, length)) {
+                return name;
+            }
+            index = (index + 1) & mask;
+        }
+
+        name = new String(buffer, start, length, StandardCharsets.ISO_8859_1);
+        if (size < MAX_SIZE) {
+            names[index] = name;
+            if (++size * 2 > names.length) {
+                rehash();
+            }
+        }
+        return name;
+    }
+
+    static boolean matches(String name, char[] buffer, int start, int length) {
+        if (name.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (name.charAt(i) != buffer[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * name与buffer中的UTF-8字节比较，只有ASCII字节才可能相等
+     */
+    static boolean matches(String name, byte[] buffer, int start, int length) {
+        if (name.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            int c = buffer[start + i];
+            if (c < 0 || name.charAt(i) != c) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash() {
+        String[] old = names;
+        String[] names = new String[old.length * 2];
+        int mask = names.length - 1;
+        for (String name : old) {
+            if (name != null) {
+                int hash = name.hashCode();
+                int index = (hash ^ (hash >>> 16)) & mask;
+                while (names[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                names[index] = name;
+            }
+        }
+        this.names = names;
+    }
+}
@@ -0,0 +1,29 @@
+package com.cracker.code.cson.stream;
+
+import java.io.IOException;
+
+/**
+ *
+ * StringChunkHandler：分块接收一个字符串值
+ *
+ * 配合{@link JsonReader#nextString(StringChunkHandler)}使用，每次收到的是已经处理过转义的一段字符。
+ * chars通常就是JsonReader的缓冲区，只在本次调用期间有效，需要保留时自行复制
+ *
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+public interface StringChunkHandler {
+
+    /**
+     * @param chars 字符
+     * @param offset 起始下标
+     * @param length 长度，大于0
+     * @throws IOException IOException
+     */
+    void chunk(char[] chars, int offset, int length) throws IOException;
+}
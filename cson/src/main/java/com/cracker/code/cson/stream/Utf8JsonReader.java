@@ -0,0 +1,1450 @@
+package com.cracker.code.cson.stream;
+
+import com.cracker.code.cson.internal.Base64Decoder;
+import com.cracker.code.cson.internal.DoubleParser;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ *
+ * Utf8JsonReader：直接在UTF-8字节上解析的JsonReader
+ *
+ * 结构字符、数字、true/false/null都按字节识别，输入不会先整体解码成char。只有真正取出的字符串才解码：
+ * ASCII的属性名经符号表或{@link JsonNameSet}直接与字节比较，命中时不创建String；没有转义的字符串值用
+ * new String(bytes, UTF_8)一次创建；跳过的值不解码。解码统一交给JDK的UTF-8实现，非法的字节序列替换为U+FFFD。
+ *
+ * byte[]和堆上的ByteBuffer直接在其数组上解析，不复制；InputStream、堆外或只读的ByteBuffer分块读入内部的字节缓冲区。
+ * 行号在报错时才统计，列号按字节计算
+ *
+ * {@link #setStructuralIndex(boolean)}开启后改用两阶段的解析：先按4096字节的窗口建立结构索引，每次读取8个字节
+ * (一个long)，用SWAR位运算找出引号、反斜杠、结构字符和空白，解决转义后算出字符串内外的掩码，把每个词法单元的
+ * 起始位置和每个字符串的结束引号依次记下；再由nextNonWhitespace等方法沿索引跳到下一个词法单元、字符串的结束引号，
+ * 宽松模式下跳过对象或数组时只沿索引数括号。窗口中出现注释、单引号等宽松模式的写法时，该窗口退回逐字节的解析。
+ * 没有SIMD指令时建立索引本身的开销与逐字节解析相当，索引默认关闭
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+public final class Utf8JsonReader extends JsonReader {
+
+    /** nextString(StringChunkHandler)每次交给handler的最多字符数 */
+    private static final int CHUNK_SIZE = 1024;
+
+    /** 结构索引一个窗口的块数，每块64字节 */
+    private static final int INDEX_BLOCKS = 64;
+
+    /** 结构索引中结束引号的标记：字符串中有反斜杠 */
+    private static final int ESCAPED_STRING = 1 << 31;
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW7 = 0x7f7f7f7f7f7f7f7fL;
+    private static final long HIGH = 0x8080808080808080L;
+    private static final long QUOTE = '"' * ONES;
+    private static final long BACKSLASH = '\\' * ONES;
+    /** '['、']'按位或0x20之后与'{'、'}'相同 */
+    private static final long CASE = 0x20 * ONES;
+    private static final long OPEN_BRACE = '{' * ONES;
+    private static final long CLOSE_BRACE = '}' * ONES;
+    private static final long COLON = ':' * ONES;
+    private static final long COMMA = ',' * ONES;
+    private static final long NEWLINE = '\n' * ONES;
+    private static final long RETURN = '\r' * ONES;
+    private static final long TAB = '\t' * ONES;
+    /** 空白和控制字符都小于0x21 */
+    private static final long BELOW_SPACE = ' ' * ONES;
+    private static final long BELOW_EXCLAMATION = '!' * ONES;
+
+    /** InputStream输入，其余情况为null */
+    private final InputStream in;
+
+    /** 不能直接访问数组的ByteBuffer输入，其余情况为null */
+    private final ByteBuffer source;
+
+    /** 为false时buffer就是调用方的数组，pos到limit覆盖整个文档，不再填充 */
+    private final boolean streaming;
+
+    /**
+     * 字节缓冲区。分块读入时，一个值(字符串、数字、字面量)必须完整地位于缓冲区中，不够时扩容
+     */
+    private byte[] buffer;
+
+    /** 分块读入时，是否已经检查过开头的BOM */
+    private boolean bomChecked;
+
+    /**
+     * 行号按需统计：lineScanned之前的换行已经计入lineNumber，lineStart是最后一行的起始位置
+     */
+    private int lineScanned;
+
+    /**
+     * 分块读取字符串时，输出空间只剩一个char而遇到代理对，低位代理项暂存于此
+     */
+    private int pendingLowSurrogate = -1;
+
+    /**
+     * 有转义的字符串、分块读取的字符串由它解码，第一次需要时创建
+     */
+    private CharsetDecoder decoder;
+
+    /**
+     * 结构索引：buffer[indexStart, indexEnd)中每个词法单元的起始位置和每个字符串的结束引号，按位置排列。
+     * 字符串中有反斜杠时，结束引号的位置带有{@link #ESCAPED_STRING}标记。tapeCursor之前的位置已经用过
+     */
+    private int[] tape;
+    private int tapeSize;
+    private int tapeCursor;
+    private int indexStart;
+    private int indexEnd;
+
+    /** 窗口中有宽松模式的写法时为false，这一段按字节解析 */
+    private boolean indexValid;
+
+    /** 是否使用结构索引 */
+    private boolean structuralIndex;
+
+    /**
+     * indexEnd处的状态：是否在字符串中，前一个字节是否是未转义的反斜杠，是否在未加引号的字面量中，
+     * 所在的字符串中是否已经有反斜杠
+     */
+    private boolean carryInString;
+    private boolean carryEscape;
+    private boolean carryScalar;
+    private boolean carryStringEscape;
+
+    /** indexedStringEnd找到的字符串中是否有反斜杠 */
+    private boolean indexedEscape;
+
+    /** 按小端序读取buffer中long的视图 */
+    private ByteBuffer words;
+
+    public Utf8JsonReader(byte[] in) {
+        this(checkNotNull(in), 0, in.length);
+    }
+
+    /**
+     * 直接在给定的字节数组上解析，不复制。解析期间调用方不能修改该数组
+     * @param in UTF-8 bytes
+     * @param offset 起始下标
+     * @param length 长度
+     */
+    public Utf8JsonReader(byte[] in, int offset, int length) {
+        checkNotNull(in);
+        if (offset < 0 || length < 0 || offset + length > in.length) {
+            throw new IndexOutOfBoundsException("offset=" + offset + ", length=" + length);
+        }
+        this.in = null;
+        this.source = null;
+        this.streaming = false;
+        this.buffer = in;
+        this.pos = offset;
+        this.limit = offset + length;
+        this.lineStart = offset;
+        this.lineScanned = offset;
+        skipByteOrderMark();
+    }
+
+    /**
+     * 读取ByteBuffer中position到limit之间的UTF-8字节，不会修改ByteBuffer的position
+     * @param in UTF-8 bytes
+     */
+    public Utf8JsonReader(ByteBuffer in) {
+        checkNotNull(in);
+        this.in = null;
+        if (in.hasArray()) {
+            this.source = null;
+            this.streaming = false;
+            this.buffer = in.array();
+            this.pos = in.arrayOffset() + in.position();
+            this.limit = in.arrayOffset() + in.limit();
+            this.lineStart = pos;
+            this.lineScanned = pos;
+            skipByteOrderMark();
+        } else {
+            this.source = in.duplicate();
+            this.streaming = true;
+            this.buffer = new byte[Math.min(8192, Math.max(64, in.remaining()))];
+        }
+    }
+
+    /**
+     * 读取UTF-8编码的字节流，关闭Utf8JsonReader时会一并关闭该流
+     * @param in UTF-8 input stream
+     */
+    public Utf8JsonReader(InputStream in) {
+        this.in = checkNotNull(in);
+        this.source = null;
+        this.streaming = true;
+        this.buffer = new byte[8192];
+    }
+
+    /**
+     * 是否先建立结构索引再沿索引解析，默认关闭。结果与逐字节解析相同，宽松模式下跳过对象或数组时只校验括号配对
+     * @param structuralIndex 是否使用结构索引
+     */
+    public void setStructuralIndex(boolean structuralIndex) {
+        this.structuralIndex = structuralIndex;
+        if (!structuralIndex) {
+            indexStart = 0;
+            indexEnd = 0;
+            indexValid = false;
+            tapeSize = 0;
+        }
+    }
+
+    public boolean isStructuralIndex() {
+        return structuralIndex;
+    }
+
+    private static <T> T checkNotNull(T in) {
+        if (in == null) {
+            throw new NullPointerException("in == null");
+        }
+        return in;
+    }
+
+    private void skipByteOrderMark() {
+        if (limit - pos >= 3 && buffer[pos] == (byte) 0xef && buffer[pos + 1] == (byte) 0xbb
+                && buffer[pos + 2] == (byte) 0xbf) {
+            pos += 3;
+            lineStart = pos;
+            lineScanned = pos;
+        }
+    }
+
+    @Override
+    int peekNumber() throws IOException {
+        // Like nextNonWhitespace, this uses locals 'p' and 'l' to save inner-loop field access.
+        byte[] buffer = this.buffer;
+        int p = pos;
+        int l = limit;
+
+        long value = 0; // Negative to accommodate Long.MIN_VALUE more easily.
+        boolean negative = false;
+        boolean fitsInLong = true;
+        int last = NUMBER_CHAR_NONE;
+
+        int i = 0;
+
+        charactersOfNumber:
+        for (; true; i++) {
+            if (p + i == l) {
+                // 分块读入时缓冲区按需扩容，数字总是完整地位于缓冲区中
+                if (!fillBuffer(i + 1)) {
+                    break;
+                }
+                buffer = this.buffer;
+                p = pos;
+                l = limit;
+            }
+
+            int c = buffer[p + i];
+            switch (c) {
+                case '-':
+                    if (last == NUMBER_CHAR_NONE) {
+                        negative = true;
+                        last = NUMBER_CHAR_SIGN;
+                        continue;
+                    } else if (last == NUMBER_CHAR_EXP_E) {
+                        last = NUMBER_CHAR_EXP_SIGN;
+                        continue;
+                    }
+                    return PEEKED_NONE;
+
+                case '+':
+                    if (last == NUMBER_CHAR_EXP_E) {
+                        last = NUMBER_CHAR_EXP_SIGN;
+                        continue;
+                    }
+                    return PEEKED_NONE;
+
+                case 'e':
+                case 'E':
+                    if (last == NUMBER_CHAR_DIGIT || last == NUMBER_CHAR_FRACTION_DIGIT) {
+                        last = NUMBER_CHAR_EXP_E;
+                        continue;
+                    }
+                    return PEEKED_NONE;
+
+                case '.':
+                    if (last == NUMBER_CHAR_DIGIT) {
+                        last = NUMBER_CHAR_DECIMAL;
+                        continue;
+                    }
+                    return PEEKED_NONE;
+
+                default:
+                    if (c < '0' || c > '9') {
+                        if (!isLiteral(c)) {
+                            break charactersOfNumber;
+                        }
+                        return PEEKED_NONE;
+                    }
+                    if (last == NUMBER_CHAR_SIGN || last == NUMBER_CHAR_NONE) {
+                        value = -(c - '0');
+                        last = NUMBER_CHAR_DIGIT;
+                    } else if (last == NUMBER_CHAR_DIGIT) {
+                        if (value == 0) {
+                            return PEEKED_NONE; // Leading '0' prefix is not allowed (since it could be octal).
+                        }
+                        long newValue = value * 10 - (c - '0');
+                        fitsInLong &= value > MIN_INCOMPLETE_INTEGER
+                                || (value == MIN_INCOMPLETE_INTEGER && newValue < value);
+                        value = newValue;
+                    } else if (last == NUMBER_CHAR_DECIMAL) {
+                        last = NUMBER_CHAR_FRACTION_DIGIT;
+                    } else if (last == NUMBER_CHAR_EXP_E || last == NUMBER_CHAR_EXP_SIGN) {
+                        last = NUMBER_CHAR_EXP_DIGIT;
+                    }
+            }
+        }
+
+        // We've read a complete number. Decide if it's a PEEKED_LONG or a PEEKED_NUMBER.
+        if (last == NUMBER_CHAR_DIGIT && fitsInLong && (value != Long.MIN_VALUE || negative)) {
+            peekedLong = negative ? value : -value;
+            pos += i;
+            return peeked = PEEKED_LONG;
+        } else if (last == NUMBER_CHAR_DIGIT || last == NUMBER_CHAR_FRACTION_DIGIT
+                || last == NUMBER_CHAR_EXP_DIGIT) {
+            peekedNumberLength = i;
+            return peeked = PEEKED_NUMBER;
+        } else {
+            return PEEKED_NONE;
+        }
+    }
+
+    @Override
+    boolean nextQuotedNameIs(String name, char quote) {
+        int length = name.length();
+        int start = pos;
+        if (start + length < limit && buffer[start + length] == quote
+                && NameTable.matches(name, buffer, start, length)) {
+            pos = start + length + 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 加引号、没有转义的ASCII属性名直接与buffer中的字节比较，命中时不创建String
+     */
+    @Override
+    int nextQuotedName(JsonNameSet names, char quote) {
+        byte[] buffer = this.buffer;
+        int start = pos;
+        int l = limit;
+        int hash = 0;
+        for (int i = start; i < l; i++) {
+            int c = buffer[i];
+            if (c == quote) {
+                int index = names.indexOf(buffer, start, i - start, hash);
+                if (index != -1) {
+                    pos = i + 1;
+                }
+                return index;
+            } else if (c < 0 || c == '\\') {
+                return -1;
+            }
+            hash = 31 * hash + c;
+        }
+        return -1;
+    }
+
+    /**
+     * 分块解码当前字符串，不要求整个值位于缓冲区中，每块最多1024个字符
+     */
+    @Override
+    void nextQuotedValue(char quote, StringChunkHandler handler) throws IOException {
+        streamingQuote = quote;
+        char[] chunk = new char[CHUNK_SIZE];
+        int count;
+        while ((count = readStringChunk(chunk, 0, chunk.length)) != -1) {
+            handler.chunk(chunk, 0, count);
+            if (streamingQuote == 0) {
+                break;
+            }
+        }
+    }
+
+
+    /**
+     * 把当前字符串的下一段字符解码到dest，读到结束引号时结束当前字符串。
+     * 缓冲区末尾不完整的多字节序列留到填充之后再解码
+     * @return 读到的字符数，字符串已经结束且没有读到字符时为-1
+     */
+    @Override
+    int readStringChunk(char[] dest, int offset, int length) throws IOException {
+        char quote = streamingQuote;
+        int n = 0;
+        if (pendingLowSurrogate != -1) {
+            dest[offset + n++] = (char) pendingLowSurrogate;
+            pendingLowSurrogate = -1;
+        }
+        while (n < length) {
+            byte[] buffer = this.buffer;
+            int p = pos;
+            int l = limit;
+            int stop = p;
+            while (stop < l && buffer[stop] != quote && buffer[stop] != '\\') {
+                stop++;
+            }
+            if (stop > p) {
+                CharBuffer out = CharBuffer.wrap(dest, offset + n, length - n);
+                ByteBuffer in = ByteBuffer.wrap(buffer, p, stop - p);
+                // 后面还有引号或反斜杠时这一段是完整的，否则末尾可能是被截断的多字节序列
+                CoderResult result = decode(in, out, stop < l);
+                pos = in.position();
+                n = out.position() - offset;
+                if (result.isOverflow()) {
+                    if (n == length - 1) {
+                        // 只剩一个char的空间，下一个字符是代理对
+                        char[] pair = new char[2];
+                        CharBuffer pairBuffer = CharBuffer.wrap(pair);
+                        decode(in, pairBuffer, stop < l);
+                        pos = in.position();
+                        dest[offset + n++] = pair[0];
+                        if (pairBuffer.position() == 2) {
+                            pendingLowSurrogate = pair[1];
+                        }
+                    }
+                    return n;
+                }
+                if (pos < stop) {
+                    // 缓冲区末尾是不完整的多字节序列
+                    if (n > 0) {
+                        return n;
+                    }
+                    if (!fillBuffer(stop - pos + 1)) {
+                        throw syntaxError("Unterminated string");
+                    }
+                    continue;
+                }
+            }
+            if (stop < l) {
+                if (buffer[stop] == quote) {
+                    pos = stop + 1;
+                    streamingQuote = 0;
+                    return n == 0 ? -1 : n;
+                }
+                if (n == length) {
+                    return n;
+                }
+                pos = stop + 1;
+                int c = readEscapeCharacter();
+                if (c != -1) {
+                    dest[offset + n++] = (char) c;
+                }
+                continue;
+            }
+            if (n > 0) {
+                return n;
+            }
+            if (!fillBuffer(1)) {
+                throw syntaxError("Unterminated string");
+            }
+        }
+        return n;
+    }
+
+
+    /**
+     * 直接在字节缓冲区上解码，不创建中间的String
+     */
+    @Override
+    byte[] decodeBase64() throws IOException {
+        byte[] buffer = this.buffer;
+        // 整个字符串都在buffer中且没有转义时，可以算出准确的长度
+        int end = pos;
+        while (end < limit && buffer[end] != '"' && buffer[end] != '\\') {
+            end++;
+        }
+        byte[] result;
+        if (end < limit && buffer[end] == '"') {
+            int chars = end - pos;
+            while (chars > 0 && buffer[pos + chars - 1] == '=') {
+                chars--;
+            }
+            result = new byte[chars * 3 / 4];
+        } else {
+            result = new byte[Math.max(16, (end - pos) / 4 * 3 * 2)];
+        }
+
+        int size = 0;
+        int bits = 0;
+        int count = 0;
+        int padding = 0;
+        while (true) {
+            buffer = this.buffer;
+            int p = pos;
+            int l = limit;
+            while (p < l) {
+                int c = buffer[p++];
+                if (c == '"') {
+                    pos = p;
+                    result = Base64Decoder.finish(result, size, bits, count, padding);
+                    if (result == null) {
+                        throw new IllegalStateException("Invalid Base64 length at line " + getLineNumber()
+                                + " column " + getColumnNumber() + " path " + getPath());
+                    }
+                    return result;
+                }
+                if (c == '\\') {
+                    pos = p;
+                    c = readEscapeCharacter();
+                    buffer = this.buffer;
+                    p = pos;
+                    l = limit;
+                }
+                int value = c < 0 ? -1 : Base64Decoder.value((char) c);
+                if (value >= 0 && padding == 0) {
+                    bits = bits << 6 | value;
+                    if (++count == 4) {
+                        if (result.length - size < 3) {
+                            result = Arrays.copyOf(result, result.length * 2);
+                        }
+                        result[size++] = (byte) (bits >> 16);
+                        result[size++] = (byte) (bits >> 8);
+                        result[size++] = (byte) bits;
+                        bits = 0;
+                        count = 0;
+                    }
+                } else if (c == '=') {
+                    padding++;
+                } else {
+                    pos = p;
+                    throw new IllegalStateException("Invalid Base64 character '" + (char) (c & 0xff) + "' at line "
+                            + getLineNumber() + " column " + getColumnNumber() + " path " + getPath());
+                }
+            }
+            pos = p;
+            if (!fillBuffer(1)) {
+                throw syntaxError("Unterminated string");
+            }
+        }
+    }
+
+    /**
+     * 读取加引号的属性名。ASCII且没有转义的属性名经符号表返回已有的String
+     * @param quote 引号
+     * @return 属性名
+     * @throws IOException IOException
+     */
+    @Override
+    String nextQuotedName(char quote) throws IOException {
+        boolean filled = false;
+        while (true) {
+            byte[] buffer = this.buffer;
+            int start = pos;
+            int l = limit;
+            int hash = 0;
+            int p = start;
+            for (; p < l; p++) {
+                int c = buffer[p];
+                if (c == quote) {
+                    pos = p + 1;
+                    NameTable nameTable = this.nameTable;
+                    if (nameTable == null) {
+                        nameTable = this.nameTable = new NameTable();
+                    }
+                    return nameTable.get(buffer, start, p - start, hash);
+                } else if (c < 0 || c == '\\') {
+                    return nextQuotedValue(quote);
+                }
+                hash = 31 * hash + c;
+            }
+            // 属性名被buffer末尾截断，较短时补充一次字节再重新扫描
+            if (filled || p - start >= 64 || !fillBuffer(p - start + 1)) {
+                return nextQuotedValue(quote);
+            }
+            filled = true;
+        }
+    }
+
+    /**
+     * 先找到结束引号，整个字符串位于缓冲区中之后一次解码。没有转义时直接创建String
+     */
+    @Override
+    String nextQuotedValue(char quote) throws IOException {
+        byte[] buffer = this.buffer;
+        int end = quote == '"' ? indexedStringEnd() : -1;
+        if (end != -1) {
+            int start = pos;
+            pos = end + 1;
+            if (!indexedEscape) {
+                return new String(buffer, start, end - start, StandardCharsets.UTF_8);
+            }
+            return unescape(buffer, start, end);
+        }
+        int p = pos;
+        boolean escaped = false;
+        while (true) {
+            int l = limit;
+            while (p < l) {
+                int c = buffer[p];
+                if (c == quote) {
+                    int start = pos;
+                    pos = p + 1;
+                    if (!escaped) {
+                        return new String(buffer, start, p - start, StandardCharsets.UTF_8);
+                    }
+                    return unescape(buffer, start, p);
+                } else if (c == '\\') {
+                    if (p + 1 == l) {
+                        // 转义的字符还没有读入
+                        break;
+                    }
+                    escaped = true;
+                    p += 2;
+                } else {
+                    p++;
+                }
+            }
+            int scanned = p - pos;
+            if (!fillBuffer(scanned + 2 - (p < l ? 0 : 1))) {
+                pos = limit;
+                throw syntaxError("Unterminated string");
+            }
+            buffer = this.buffer;
+            p = pos + scanned;
+        }
+    }
+
+    /**
+     * 解码buffer[start, end)中带转义的字符串，转义之间的片段交给UTF-8解码器
+     */
+    private String unescape(byte[] buffer, int start, int end) throws IOException {
+        // UTF-8解码、处理转义后的char数都不会超过字节数
+        char[] chars = new char[end - start];
+        int n = 0;
+        int p = start;
+        while (p < end) {
+            int segment = p;
+            while (segment < end && buffer[segment] != '\\') {
+                segment++;
+            }
+            if (segment > p) {
+                CharBuffer out = CharBuffer.wrap(chars, n, chars.length - n);
+                decode(ByteBuffer.wrap(buffer, p, segment - p), out, true);
+                n = out.position();
+            }
+            if (segment == end) {
+                break;
+            }
+            // 结束引号之前的反斜杠后面一定还有一个字节
+            int escaped = buffer[segment + 1];
+            p = segment + 2;
+            switch (escaped) {
+                case 'u':
+                    int result = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int c = p + i < end ? buffer[p + i] : -1;
+                        int digit = Character.digit(c < 0 ? -1 : c, 16);
+                        if (digit < 0) {
+                            throw new NumberFormatException("\\u" + new String(buffer, p, Math.min(4, limit - p),
+                                    StandardCharsets.UTF_8));
+                        }
+                        result = result << 4 | digit;
+                    }
+                    p += 4;
+                    chars[n++] = (char) result;
+                    break;
+                case 't':
+                    chars[n++] = '\t';
+                    break;
+                case 'b':
+                    chars[n++] = '\b';
+                    break;
+                case 'n':
+                    chars[n++] = '\n';
+                    break;
+                case 'r':
+                    chars[n++] = '\r';
+                    break;
+                case 'f':
+                    chars[n++] = '\f';
+                    break;
+                default:
+                    if (escaped < 0) {
+                        // 反斜杠后面是多字节字符，去掉反斜杠后照常解码
+                        p = segment + 1;
+                    } else {
+                        chars[n++] = (char) escaped;
+                    }
+            }
+        }
+        return new String(chars, 0, n);
+    }
+
+    /**
+     * 把in中的UTF-8字节解码到out
+     * @param endOfInput 为false时末尾不完整的多字节序列留在in中
+     */
+    private CoderResult decode(ByteBuffer in, CharBuffer out, boolean endOfInput) {
+        CharsetDecoder decoder = this.decoder;
+        if (decoder == null) {
+            decoder = this.decoder = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+        decoder.reset();
+        return decoder.decode(in, out, endOfInput);
+    }
+
+
+    @Override
+    String nextUnquotedValue() throws IOException {
+        int i = 0;
+
+        findNonLiteralCharacter:
+        while (true) {
+            for (; pos + i < limit; i++) {
+                switch (buffer[pos + i]) {
+                    case '/':
+                    case '\\':
+                    case ';':
+                    case '#':
+                    case '=':
+                        checkLenient(); // fall-through
+                    case '{':
+                    case '}':
+                    case '[':
+                    case ']':
+                    case ':':
+                    case ',':
+                    case ' ':
+                    case '\t':
+                    case '\f':
+                    case '\r':
+                    case '\n':
+                        break findNonLiteralCharacter;
+                    default:
+                }
+            }
+
+            // 整个字面量读入缓冲区，缓冲区不够时扩容
+            if (!fillBuffer(i + 1)) {
+                break;
+            }
+        }
+
+        String result = new String(buffer, pos, i, StandardCharsets.UTF_8);
+        pos += i;
+        return result;
+    }
+
+    @Override
+    void skipQuotedValue(char quote) throws IOException {
+        if (quote == '"') {
+            int end = indexedStringEnd();
+            // 有转义时仍逐字节跳过，以便校验转义序列
+            if (end != -1 && !indexedEscape) {
+                pos = end + 1;
+                return;
+            }
+        }
+        // Like nextNonWhitespace, this uses locals 'p' and 'l' to save inner-loop field access.
+        do {
+            byte[] buffer = this.buffer;
+            int p = pos;
+            int l = limit;
+            while (p < l) {
+                int c = buffer[p++];
+                if (c == quote) {
+                    pos = p;
+                    return;
+                } else if (c == '\\') {
+                    pos = p;
+                    readEscapeCharacter();
+                    buffer = this.buffer;
+                    p = pos;
+                    l = limit;
+                }
+            }
+            pos = p;
+        } while (fillBuffer(1));
+        throw syntaxError("Unterminated string");
+    }
+
+    @Override
+    void skipUnquotedValue() throws IOException {
+        do {
+            int i = 0;
+            for (; pos + i < limit; i++) {
+                switch (buffer[pos + i]) {
+                    case '/':
+                    case '\\':
+                    case ';':
+                    case '#':
+                    case '=':
+                        checkLenient(); // fall-through
+                    case '{':
+                    case '}':
+                    case '[':
+                    case ']':
+                    case ':':
+                    case ',':
+                    case ' ':
+                    case '\t':
+                    case '\f':
+                    case '\r':
+                    case '\n':
+                        pos += i;
+                        return;
+                    default:
+                }
+            }
+            pos += i;
+        } while (fillBuffer(1));
+    }
+
+    /**
+     * Closes this JSON reader and the underlying {@link InputStream}.
+     */
+    @Override
+    public void close() throws IOException {
+        super.close();
+        if (in != null) {
+            in.close();
+        }
+    }
+
+    /**
+     * 宽松模式下开启结构索引时，对象和数组沿索引跳过
+     */
+    @Override
+    boolean skipIndexedValue() throws IOException {
+        if (!structuralIndex || !isLenient()) {
+            return false;
+        }
+        int p = peeked;
+        if (p == PEEKED_NONE) {
+            p = doPeek();
+        }
+        if ((p == PEEKED_BEGIN_ARRAY || p == PEEKED_BEGIN_OBJECT) && skipIndexedContainer()) {
+            peeked = PEEKED_NONE;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 保留pos之后的字节，读入更多字节，直到pos之后至少有minimum个字节。缓冲区不够大时扩容
+     * @param minimum pos之后需要的字节数
+     * @return false表示输入已结束，字节数仍不足
+     * @throws IOException unexpected ioException
+     */
+    @Override
+    boolean fillBuffer(int minimum) throws IOException {
+        if (!streaming) {
+            // 整个文档已在buffer中，没有更多字节可以填充
+            return limit - pos >= minimum;
+        }
+        // 丢弃pos之前的字节前先统计其中的换行，字节移动后结构索引失效
+        countLines();
+        indexStart = 0;
+        indexEnd = 0;
+        indexValid = false;
+        tapeSize = 0;
+        byte[] buffer = this.buffer;
+        lineStart -= pos;
+        lineScanned -= pos;
+        if (limit != pos) {
+            limit -= pos;
+            System.arraycopy(buffer, pos, buffer, 0, limit);
+        } else {
+            limit = 0;
+        }
+        pos = 0;
+
+        if (!bomChecked) {
+            // 第一次读取，至少读入3个字节以识别BOM
+            while (limit < 3 && read(limit) != -1) {
+                // 继续读取
+            }
+            bomChecked = true;
+            if (limit >= 3 && buffer[0] == (byte) 0xef && buffer[1] == (byte) 0xbb && buffer[2] == (byte) 0xbf) {
+                pos = 3;
+                lineStart = 3;
+                lineScanned = 3;
+            }
+        }
+        while (limit - pos < minimum) {
+            if (limit == this.buffer.length) {
+                this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length * 2, minimum + pos));
+            }
+            if (read(limit) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 从输入读入字节到buffer[offset, buffer.length)
+     * @return 读到的字节数，输入结束时为-1
+     */
+    private int read(int offset) throws IOException {
+        byte[] buffer = this.buffer;
+        int total;
+        if (in != null) {
+            total = in.read(buffer, offset, buffer.length - offset);
+        } else if (source.hasRemaining()) {
+            total = Math.min(buffer.length - offset, source.remaining());
+            source.get(buffer, offset, total);
+        } else {
+            total = -1;
+        }
+        if (total > 0) {
+            limit += total;
+        }
+        return total;
+    }
+
+    /**
+     * 统计lineScanned到pos之间的换行
+     */
+    private void countLines() {
+        byte[] buffer = this.buffer;
+        for (int p = lineScanned; p < pos; p++) {
+            if (buffer[p] == '\n') {
+                lineNumber++;
+                lineStart = p + 1;
+            }
+        }
+        if (pos > lineScanned) {
+            lineScanned = pos;
+        }
+    }
+
+    @Override
+    int getLineNumber() {
+        countLines();
+        return lineNumber + 1;
+    }
+
+    @Override
+    int getColumnNumber() {
+        countLines();
+        return pos - lineStart + 1;
+    }
+
+
+    @Override
+    int charAt(int index) {
+        return buffer[index];
+    }
+
+    @Override
+    String peekedNumberString() {
+        return new String(buffer, pos, peekedNumberLength, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    double parsePeekedNumber() {
+        return DoubleParser.parse(buffer, pos, peekedNumberLength);
+    }
+
+    @Override
+    int nextNonWhitespace(boolean throwOnEof) throws IOException {
+        int t = structuralIndex ? indexedTokenStart() : -1;
+        if (t != -1) {
+            int c = buffer[t];
+            // pos停在字面量中间(字面量以';'、'='等结束)，或者下一个词法单元是注释、单引号字符串时，
+            // 索引对这一段的判断可能不对，该窗口改为逐字节解析
+            if ((t == pos || isWhitespace(buffer[pos])) && !isLenientStart(c)) {
+                pos = t + 1;
+                return c;
+            }
+            indexValid = false;
+        }
+        byte[] buffer = this.buffer;
+        int p = pos;
+        int l = limit;
+        while (true) {
+            if (p == l) {
+                pos = p;
+                if (!fillBuffer(1)) {
+                    break;
+                }
+                buffer = this.buffer;
+                p = pos;
+                l = limit;
+            }
+
+            int c = buffer[p++];
+            if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                continue;
+            }
+
+            if (c == '/') {
+                pos = p;
+                if (p == l) {
+                    pos--; // push back '/' so it's still in the buffer when this method returns
+                    boolean charsLoaded = fillBuffer(2);
+                    pos++; // consume the '/' again
+                    if (!charsLoaded) {
+                        return c;
+                    }
+                }
+
+                checkLenient();
+                int peek = this.buffer[pos];
+                switch (peek) {
+                    case '*':
+                        // skip a /* c-style comment */
+                        pos++;
+                        if (!skipTo("*/")) {
+                            throw syntaxError("Unterminated comment");
+                        }
+                        buffer = this.buffer;
+                        p = pos + 2;
+                        l = limit;
+                        continue;
+
+                    case '/':
+                        // skip a // end-of-line comment
+                        pos++;
+                        skipToEndOfLine();
+                        buffer = this.buffer;
+                        p = pos;
+                        l = limit;
+                        continue;
+
+                    default:
+                        return c;
+                }
+            } else if (c == '#') {
+                pos = p;
+                checkLenient();
+                skipToEndOfLine();
+                buffer = this.buffer;
+                p = pos;
+                l = limit;
+            } else {
+                pos = p;
+                return c;
+            }
+        }
+        if (throwOnEof) {
+            throw new EOFException("End of input"
+                    + " at line " + getLineNumber() + " column " + getColumnNumber());
+        } else {
+            return -1;
+        }
+    }
+
+    /**
+     * 用结构索引查找pos处或之后的第一个词法单元。pos必须位于词法单元之间。
+     * pos不在索引范围内时从pos开始建立新的索引
+     * @return 词法单元第一个字节的下标，索引不可用时为-1
+     */
+    private int indexedTokenStart() {
+        int p = pos;
+        if (p < indexStart || p >= indexEnd) {
+            carryInString = false;
+            carryEscape = false;
+            carryScalar = false;
+            carryStringEscape = false;
+            if (!buildIndex(p)) {
+                return -1;
+            }
+        }
+        while (indexValid) {
+            int[] tape = this.tape;
+            int size = tapeSize;
+            int cursor = tapeCursor;
+            // 词法单元之间不会有结束引号，这里跳过的都是已经读过的位置
+            while (cursor < size && (tape[cursor] & ~ESCAPED_STRING) < p) {
+                cursor++;
+            }
+            tapeCursor = cursor;
+            if (cursor < size) {
+                return tape[cursor] & ~ESCAPED_STRING;
+            }
+            // 窗口剩下的都是空白，接着为下一个窗口建立索引
+            if (!buildIndex(indexEnd)) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 用结构索引查找当前双引号字符串的结束引号，pos是开始引号的下一个字节。
+     * 同时把字符串中是否有反斜杠记录在indexedEscape中
+     * @return 结束引号的下标，开始引号不在有效的索引中或者找不到结束引号时为-1
+     */
+    private int indexedStringEnd() {
+        int p = pos;
+        if (!indexValid || p - 1 < indexStart || p - 1 >= indexEnd) {
+            return -1;
+        }
+        while (true) {
+            int[] tape = this.tape;
+            int size = tapeSize;
+            int cursor = tapeCursor;
+            while (cursor < size && (tape[cursor] & ~ESCAPED_STRING) < p) {
+                cursor++;
+            }
+            tapeCursor = cursor;
+            if (cursor < size) {
+                // 字符串中的字节都不在索引中，开始引号之后的第一个位置就是结束引号
+                int end = tape[cursor];
+                indexedEscape = end < 0;
+                return end & ~ESCAPED_STRING;
+            }
+            // 字符串跨过了窗口，带着字符串内的状态为下一个窗口建立索引
+            if (!buildIndex(indexEnd) || !indexValid) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * 沿结构索引跳过已经peek到开括号的对象或数组：只数括号，字符串、字面量整体跳过，不生成token
+     * @return 索引不可用、括号不配对、或者遇到注释等宽松模式的写法时为false，此时pos、peeked都没有改变，
+     * 由调用方逐个token跳过
+     */
+    private boolean skipIndexedContainer() {
+        byte[] buffer = this.buffer;
+        int p = pos;
+        // 开括号已经被doPeek读过
+        if (!indexValid || p - 1 < indexStart || p - 1 >= indexEnd) {
+            return false;
+        }
+        // 每层一位，1表示数组
+        long arrays = buffer[p - 1] == '[' ? 1L : 0L;
+        int depth = 1;
+        boolean inString = false;
+        // 上一个字面量的下一个字节，字面量中间的注释会藏住后面的括号，需要检查到下一个词法单元为止
+        int literalEnd = -1;
+        while (true) {
+            int[] tape = this.tape;
+            int size = tapeSize;
+            int cursor = tapeCursor;
+            while (cursor < size && (tape[cursor] & ~ESCAPED_STRING) < p) {
+                cursor++;
+            }
+            for (; cursor < size; cursor++) {
+                if (inString) {
+                    // 开始引号之后的位置就是结束引号
+                    inString = false;
+                    continue;
+                }
+                int at = tape[cursor];
+                if (literalEnd != -1) {
+                    for (int i = literalEnd; i < at; i++) {
+                        if (buffer[i] == '/' || buffer[i] == '#') {
+                            return false;
+                        }
+                    }
+                    literalEnd = -1;
+                }
+                int c = buffer[at];
+                switch (c) {
+                    case '{':
+                    case '[':
+                        if (depth == 64) {
+                            return false;
+                        }
+                        arrays = arrays << 1 | (c == '[' ? 1L : 0L);
+                        depth++;
+                        break;
+                    case '}':
+                    case ']':
+                        if ((arrays & 1L) != (c == ']' ? 1L : 0L)) {
+                            return false;
+                        }
+                        arrays >>>= 1;
+                        if (--depth == 0) {
+                            tapeCursor = cursor + 1;
+                            pos = at + 1;
+                            return true;
+                        }
+                        break;
+                    case '"':
+                        inString = true;
+                        break;
+                    case ',':
+                    case ':':
+                        break;
+                    default:
+                        if (isLenientStart(c)) {
+                            return false;
+                        }
+                        literalEnd = at + 1;
+                }
+            }
+            tapeCursor = cursor;
+            p = indexEnd;
+            if (!buildIndex(p) || !indexValid) {
+                return false;
+            }
+        }
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    /**
+     * 只在宽松模式下出现在词法单元开头的字节：注释、单引号字符串、';'分隔符、'='
+     */
+    private static boolean isLenientStart(int c) {
+        return c == '/' || c == '#' || c == '\'' || c == ';' || c == '=';
+    }
+
+    /**
+     * 为buffer[start, start + 64 * n)建立结构索引，n不超过一个窗口的块数，且只包含完整的64字节块。
+     * 先用SWAR求出每个字节的类别位图，再把词法单元的起始位置和结束引号依次写入tape。
+     * 从carry字段给出的状态开始，结束时把状态写回carry字段
+     * @return 不足64字节、无法建立索引时为false
+     */
+    private boolean buildIndex(int start) {
+        byte[] buffer = this.buffer;
+        int blocks = Math.min(INDEX_BLOCKS, (limit - start) >>> 6);
+        indexStart = start;
+        indexEnd = start + (blocks << 6);
+        indexValid = false;
+        tapeSize = 0;
+        tapeCursor = 0;
+        if (blocks == 0) {
+            return false;
+        }
+        int[] tape = this.tape;
+        if (tape == null) {
+            tape = this.tape = new int[INDEX_BLOCKS << 6];
+        }
+        int size = 0;
+        ByteBuffer words = this.words;
+        if (words == null || words.array() != buffer) {
+            words = this.words = ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        boolean inStringCarry = carryInString;
+        boolean escapeCarry = carryEscape;
+        boolean scalarCarry = carryScalar;
+        boolean stringEscape = carryStringEscape;
+        for (int block = 0; block < blocks; block++) {
+            int base = start + (block << 6);
+            long quote = 0;
+            long backslash = 0;
+            long structural = 0;
+            long whitespace = 0;
+            long control = 0;
+            for (int i = 0; i < 8; i++) {
+                long w = words.getLong(base + (i << 3));
+                long folded = w | CASE;
+                int shift = i << 3;
+                quote |= compress(~nonZero(w ^ QUOTE) & HIGH) << shift;
+                backslash |= compress(~nonZero(w ^ BACKSLASH) & HIGH) << shift;
+                structural |= compress(~(nonZero(folded ^ OPEN_BRACE) & nonZero(folded ^ CLOSE_BRACE)
+                        & nonZero(w ^ COLON) & nonZero(w ^ COMMA)) & HIGH) << shift;
+                whitespace |= compress(below(w, BELOW_EXCLAMATION)) << shift;
+                long controlBytes = below(w, BELOW_SPACE);
+                if (controlBytes != 0) {
+                    // 除了\t、\n、\r之外的控制字符
+                    controlBytes &= nonZero(w ^ TAB) & nonZero(w ^ NEWLINE) & nonZero(w ^ RETURN);
+                    control |= compress(controlBytes) << shift;
+                }
+            }
+
+            // 被转义的字节：未被转义的反斜杠的下一个字节。连续的反斜杠两两抵消，按位依次处理
+            long escaped = 0;
+            if (backslash != 0 || escapeCarry) {
+                long remaining = backslash;
+                if (escapeCarry) {
+                    escaped = 1L;
+                    remaining &= ~1L;
+                }
+                escapeCarry = false;
+                while (remaining != 0) {
+                    long bit = remaining & -remaining;
+                    if (bit == Long.MIN_VALUE) {
+                        escapeCarry = true;
+                    }
+                    escaped |= bit << 1;
+                    remaining &= ~(bit | bit << 1);
+                }
+            }
+
+            // 字符串内的掩码：从开始引号(含)到结束引号(不含)
+            long realQuote = quote & ~escaped;
+            long inString = prefixXor(realQuote);
+            if (inStringCarry) {
+                inString = ~inString;
+            }
+            inStringCarry = inString < 0;
+            long outside = ~inString;
+
+            long scalar = ~(structural | whitespace | quote) & outside;
+            long previousScalar = scalar << 1 | (scalarCarry ? 1L : 0L);
+            scalarCarry = scalar < 0;
+
+            // 字符串外的反斜杠、控制字符，以及紧跟在字面量后面的引号，交给逐字节的解析。
+            // 注释、单引号等宽松模式的写法在nextNonWhitespace遇到时再退回
+            if (((backslash | control) & outside) != 0 || (realQuote & previousScalar) != 0) {
+                return true;
+            }
+
+            // 依次写入词法单元的起始位置和结束引号，字符串中的反斜杠只用来标记所在字符串
+            long closing = realQuote & outside;
+            long emit = (structural & outside) | (realQuote & inString) | (scalar & ~previousScalar) | closing;
+            long stringBackslash = backslash & inString;
+            if (stringBackslash == 0 && !stringEscape) {
+                while (emit != 0) {
+                    tape[size++] = base + Long.numberOfTrailingZeros(emit);
+                    emit &= emit - 1;
+                }
+            } else {
+                emit |= stringBackslash;
+                while (emit != 0) {
+                    long bit = emit & -emit;
+                    emit ^= bit;
+                    int at = base + Long.numberOfTrailingZeros(bit);
+                    if ((stringBackslash & bit) != 0) {
+                        stringEscape = true;
+                    } else if ((closing & bit) != 0 && stringEscape) {
+                        tape[size++] = at | ESCAPED_STRING;
+                        stringEscape = false;
+                    } else {
+                        tape[size++] = at;
+                    }
+                }
+            }
+        }
+        tapeSize = size;
+        carryInString = inStringCarry;
+        carryEscape = escapeCarry;
+        carryScalar = scalarCarry;
+        carryStringEscape = stringEscape;
+        indexValid = true;
+        return true;
+    }
+
+    /**
+     * @return x中非0的字节最高位为1，为0的字节最高位为0。多个结果按位与之后，最高位为0表示其中之一为0
+     */
+    private static long nonZero(long x) {
+        return (x & LOW7) + LOW7 | x;
+    }
+
+    /**
+     * @param bound 每个字节都是同一个不超过0x80的值
+     * @return w中小于该值的ASCII字节最高位为1，其余为0
+     */
+    private static long below(long w, long bound) {
+        return ~((w | HIGH) - bound | w) & HIGH;
+    }
+
+    /**
+     * 把每个字节的最高位收集到低8位，第j个字节对应第j位
+     */
+    private static long compress(long high) {
+        return (high >>> 7) * 0x0102040810204080L >>> 56;
+    }
+
+    /**
+     * 第j位为x中第0到第j位的异或
+     */
+    private static long prefixXor(long x) {
+        x ^= x << 1;
+        x ^= x << 2;
+        x ^= x << 4;
+        x ^= x << 8;
+        x ^= x << 16;
+        x ^= x << 32;
+        return x;
+    }
+
+
+    private void skipToEndOfLine() throws IOException {
+        while (pos < limit || fillBuffer(1)) {
+            int c = buffer[pos++];
+            if (c == '\n' || c == '\r') {
+                break;
+            }
+        }
+    }
+
+    /**
+     * @param toFind a string to search for. Must not contain a newline.
+     */
+    private boolean skipTo(String toFind) throws IOException {
+        outer:
+        for (; pos + toFind.length() <= limit || fillBuffer(toFind.length()); pos++) {
+            for (int c = 0; c < toFind.length(); c++) {
+                if (buffer[pos + c] != toFind.charAt(c)) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 读取反斜杠之后的转义字符，需要时填充缓冲区
+     * @return 转义得到的字符；反斜杠后面是多字节字符时返回-1，pos停在该字符上，由调用方照常解码
+     */
+    private int readEscapeCharacter() throws IOException {
+        if (pos == limit && !fillBuffer(1)) {
+            throw syntaxError("Unterminated escape sequence");
+        }
+
+        int escaped = buffer[pos++];
+        switch (escaped) {
+            case 'u':
+                if (pos + 4 > limit && !fillBuffer(4)) {
+                    throw syntaxError("Unterminated escape sequence");
+                }
+                byte[] buffer = this.buffer;
+                int result = 0;
+                for (int i = pos, end = i + 4; i < end; i++) {
+                    int c = buffer[i];
+                    int digit = Character.digit(c < 0 ? -1 : c, 16);
+                    if (digit < 0) {
+                        throw new NumberFormatException("\\u" + new String(buffer, pos, 4, StandardCharsets.UTF_8));
+                    }
+                    result = result << 4 | digit;
+                }
+                pos += 4;
+                return result;
+
+            case 't':
+                return '\t';
+
+            case 'b':
+                return '\b';
+
+            case 'n':
+                return '\n';
+
+            case 'r':
+                return '\r';
+
+            case 'f':
+                return '\f';
+
+            default:
+                if (escaped < 0) {
+                    pos--;
+                    return -1;
+                }
+                return escaped;
+        }
+    }
+
+}
@@ -0,0 +1,143 @@
+import com.cracker.code.cson.*;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ *
+ * CsonScalingBenchmark：多个线程共用一个Cson时的吞吐量，线程数从1递增到N
+ *
+ * 用法：java CsonScalingBenchmark [最大线程数，默认CPU核数] [每轮毫秒数，默认2000]
+ * @author lizhg<2486479615@qq.com>
+ * <br/>=================================
+ * <br/>公司：myself
+ * <br/>版本：1.1.0
+ * <br/>创建时间：2026-10-17
+ * <br/>jdk版本：1.8
+ * <br/>=================================
+ */
+public class CsonScalingBenchmark {
+
+    static class Item {
+        private int id;
+        private String name;
+        private List<Integer> values = new ArrayList<>();
+
+        Item(int id, String name) {
+            this.id = id;
+            this.name = name;
+            for (int i = 0; i < 4; i++) {
+                this.values.add(id * 31 + i);
+            }
+        }
+    }
+
+    static class Order {
+        private int orderId;
+        private String customer;
+        private Item[] items;
+        private Map<String, String> tags = new LinkedHashMap<>();
+
+        Order(int orderId) {
+            this.orderId = orderId;
+            this.customer = "customer-" + orderId;
+            this.items = new Item[]{new Item(orderId, "a"), new Item(orderId + 1, "b")};
+            this.tags.put("region", "cn");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 2000L;
+
+        checkCsonCollectable();
+
+        Cson cson = new Cson();
+        Order[] orders = new Order[64];
+        String[] jsons = new String[orders.length];
+        for (int i = 0; i < orders.length; i++) {
+            orders[i] = new Order(i);
+            jsons[i] = cson.toJson(orders[i]);
+        }
+
+        // 预热
+        run(cson, orders, jsons, 1, millis);
+
+        double single = 0;
+        for (int threads = 1; threads <= maxThreads; threads = threads < maxThreads ? Math.min(threads * 2, maxThreads) : threads + 1) {
+            double opsPerSecond = run(cson, orders, jsons, threads, millis);
+            if (threads == 1) {
+                single = opsPerSecond;
+            }
+            System.out.printf("threads=%3d  %,12.0f ops/s  %6.2fx%n", threads, opsPerSecond, opsPerSecond / single);
+        }
+    }
+
+    /**
+     * 用过的Cson不再被引用后应当能被回收：它的TypeAdapter缓存在Class上，不能反过来把Cson留住
+     */
+    private static void checkCsonCollectable() throws InterruptedException {
+        List<WeakReference<Cson>> refs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Cson cson = new Cson();
+            // Order的属性不是final类型，写出时的TypeAdapter会引用Cson
+            cson.toJson(new Order(i));
+            refs.add(new WeakReference<>(cson));
+        }
+        int alive = refs.size();
+        for (int round = 0; round < 20 && alive > 0; round++) {
+            System.gc();
+            Thread.sleep(50);
+            alive = 0;
+            for (WeakReference<Cson> ref : refs) {
+                if (ref.get() != null) {
+                    alive++;
+                }
+            }
+        }
+        if (alive > 0) {
+            throw new AssertionError(alive + "/" + refs.size() + " Cson instances are still reachable after GC");
+        }
+    }
+
+    /**
+     * 每个操作是一次toJson加一次fromJson
+     * @return 每秒操作数
+     */
+    private static double run(Cson cson, Order[] orders, String[] jsons, int threads, long millis) throws InterruptedException {
+        LongAdder ops = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        long[] deadline = new long[1];
+        for (int t = 0; t < threads; t++) {
+            final int offset = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    long count = 0;
+                    int i = offset;
+                    while (System.nanoTime() < deadline[0]) {
+                        int k = i++ & (orders.length - 1);
+                        if (cson.toJson(orders[k]).length() == 0 || cson.fromJson(jsons[k], Order.class) == null) {
+                            throw new AssertionError();
+                        }
+                        count++;
+                    }
+                    ops.add(count);
+                } catch (InterruptedException ignored) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            worker.setDaemon(true);
+            worker.start();
+        }
+        deadline[0] = System.nanoTime() + millis * 1_000_000L;
+        start.countDown();
+        done.await();
+        return ops.sum() * 1000.0 / millis;
+    }
+}